@@ -19,18 +19,34 @@ public class Csv {
 
   private Writer writer;
 
+  private CSVPrinter printer;
+
   public Csv(Path file, Writer writer) {
     this.file = file;
     this.writer = writer;
   }
 
   public void write() throws IOException {
+    open();
+    printer.printRecords(writer.getRows());
+    close();
+  }
+
+  public void open() throws IOException {
     BufferedWriter bufferedWriter = Files.newBufferedWriter(file);
     String[] headers = writer.getHeaders().toArray(String[]::new);
     CSVFormat format = CSVFormat.Builder.create().setHeader(headers).build();
-    CSVPrinter printer = new CSVPrinter(bufferedWriter, format);
 
-    printer.printRecords(writer.getRows());
+    printer = new CSVPrinter(bufferedWriter, format);
+    printer.flush();
+  }
+
+  public void append(List<Object> row) throws IOException {
+    printer.printRecord(row);
+    printer.flush();
+  }
+
+  public void close() throws IOException {
     printer.close();
   }
 }
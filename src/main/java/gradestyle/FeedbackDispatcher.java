@@ -0,0 +1,224 @@
+package gradestyle;
+
+import gradestyle.validator.ValidationResult;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.kohsuke.github.HttpException;
+
+public class FeedbackDispatcher {
+  private static final int THREADS = 4;
+
+  private static final int RETRIES = 5;
+
+  private static final long BACKOFF = 1000;
+
+  private static final String PENDING = ".md";
+
+  private static final String SENT = ".sent";
+
+  private Github github;
+
+  private Path outbox;
+
+  private ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+  private List<Repo> repos = new ArrayList<>();
+
+  private List<Future<Void>> futures = new ArrayList<>();
+
+  public FeedbackDispatcher(Github github) {
+    this.github = github;
+    this.outbox = github.getConfig().getGithubFeedbackOutbox();
+  }
+
+  public void send(List<ValidationResult> results) throws IOException {
+    for (ValidationResult result : results) {
+      submit(result);
+    }
+
+    finish();
+  }
+
+  public synchronized void submit(ValidationResult result) {
+    if (result.getViolations().getViolations().isEmpty()) {
+      return;
+    }
+
+    Callable<Void> task =
+        () -> {
+          send(result);
+          return null;
+        };
+
+    repos.add(result.getRepo());
+    futures.add(executor.submit(task));
+  }
+
+  public synchronized void finish() throws IOException {
+    List<String> failed = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          System.err.println(
+              "Unable to send GitHub feedback to \"" + repos.get(i).getName() + "\".");
+          e.getCause().printStackTrace();
+          failed.add(repos.get(i).getName());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (!failed.isEmpty()) {
+      throw new IOException(
+          "Unable to send GitHub feedback to " + failed.size() + " repos: " + failed);
+    }
+  }
+
+  private void send(ValidationResult result) throws IOException, InterruptedException {
+    Repo repo = result.getRepo();
+    Path pending = getFile(repo, PENDING);
+    Path sent = getFile(repo, SENT);
+
+    if (sent != null && Files.exists(sent)) {
+      return;
+    }
+
+    boolean resumed = pending != null && Files.exists(pending);
+    String body;
+
+    if (resumed) {
+      body = Files.readString(pending);
+    } else {
+      body = github.getFeedback(result);
+
+      if (pending != null) {
+        write(pending, body);
+      }
+    }
+
+    String url = post(repo, body, resumed);
+
+    if (sent != null) {
+      write(sent, url);
+    }
+  }
+
+  private String post(Repo repo, String body, boolean resumed)
+      throws IOException, InterruptedException {
+    for (int attempt = 0; ; attempt++) {
+      long delay;
+
+      try {
+        String url = attempt == 0 && !resumed ? null : github.findFeedback(repo, body);
+
+        return url == null ? github.postFeedback(repo, body) : url;
+      } catch (IOException e) {
+        if (attempt == RETRIES || !isRetryable(e)) {
+          throw e;
+        }
+
+        delay = getDelay(e, attempt);
+      }
+
+      Thread.sleep(delay);
+    }
+  }
+
+  private boolean isRetryable(IOException e) {
+    if (e instanceof FileNotFoundException) {
+      return false;
+    }
+
+    if (!(e instanceof HttpException http)) {
+      return true;
+    }
+
+    int code = http.getResponseCode();
+
+    if (code == 403) {
+      return isRateLimited(http);
+    }
+
+    return code == -1 || code == 429 || code >= 500;
+  }
+
+  private boolean isRateLimited(HttpException e) {
+    return getHeader(e, "Retry-After") != null || "0".equals(getHeader(e, "X-RateLimit-Remaining"));
+  }
+
+  private long getDelay(IOException e, int attempt) {
+    long backoff = BACKOFF << attempt;
+    long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+
+    if (e instanceof HttpException http && getHeader(http, "Retry-After") != null) {
+      try {
+        delay = Math.max(delay, Long.parseLong(getHeader(http, "Retry-After")) * 1000);
+      } catch (NumberFormatException ex) {
+        // Retry-After may be an HTTP date, which falls back to the backoff.
+      }
+    }
+
+    return delay;
+  }
+
+  private String getHeader(HttpException e, String name) {
+    Map<String, List<String>> headers;
+
+    try {
+      headers = e.getResponseHeaderFields();
+    } catch (NullPointerException ex) {
+      // Exceptions without a response, such as connection errors, have no headers.
+      return null;
+    }
+
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+
+    return null;
+  }
+
+  private Path getFile(Repo repo, String extension) {
+    if (outbox == null) {
+      return null;
+    }
+
+    return outbox.resolve(repo.getName()).resolve(repo.getCommit() + extension);
+  }
+
+  private void write(Path file, String text) throws IOException {
+    Files.createDirectories(file.getParent());
+
+    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+    try {
+      Files.writeString(temp, text);
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -13,15 +13,30 @@ import java.util.List;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.kohsuke.github.GHIssue;
+import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.PagedSearchIterable;
+import org.kohsuke.github.RateLimitChecker;
 
 public class Github {
+  private static final int MAX_SEARCH_RESULTS = 1000;
+
+  private static final int RATE_LIMIT_RESERVE = 10;
+
   private Config config;
 
+  private GitHub client;
+
+  private GHOrganization organization;
+
   public Github(Config config) {
     this.config = config;
   }
@@ -31,11 +46,9 @@ public class Github {
   }
 
   public List<Repo> cloneAssignment() throws IOException, GitAPIException {
-    GHOrganization github = getGithub();
-
     List<Repo> repos = new ArrayList<>();
 
-    for (GHRepository ghRepo : github.listRepositories()) {
+    for (GHRepository ghRepo : listAssignmentRepositories()) {
       if (!ghRepo.getName().startsWith(config.getGithubAssignment())) {
         continue;
       }
@@ -43,13 +56,17 @@ public class Github {
       Path clonePath = config.getRepos().resolve(ghRepo.getName());
       File cloneDir = clonePath.toFile();
 
-      String hash = ghRepo.listCommits().toArray()[0].getSHA1();
+      String hash = ghRepo.getRef("heads/" + ghRepo.getDefaultBranch()).getObject().getSha();
       Repo repo = new Repo(clonePath, config.getGithubClassroom(), ghRepo.getName(), hash);
 
       if (!ghRepo.isTemplate()) {
         repos.add(repo);
       }
 
+      if (isCheckedOut(cloneDir, hash)) {
+        continue;
+      }
+
       getRepo(repo.getRepoUrl(), cloneDir);
 
       Git.open(cloneDir).checkout().setName(hash).call();
@@ -58,14 +75,61 @@ public class Github {
     return repos;
   }
 
-  private GHOrganization getGithub() throws IOException {
+  private Iterable<GHRepository> listAssignmentRepositories() throws IOException {
+    PagedSearchIterable<GHRepository> results =
+        getClient()
+            .searchRepositories()
+            .q(config.getGithubAssignment())
+            .in("name")
+            .user(config.getGithubClassroom())
+            .list();
+
+    if (results.getTotalCount() > MAX_SEARCH_RESULTS || results.isIncomplete()) {
+      return getGithub().listRepositories();
+    }
+
+    return results;
+  }
+
+  private synchronized GitHub getClient() throws IOException {
+    if (client != null) {
+      return client;
+    }
+
     GitHubBuilder builder = new GitHubBuilder();
 
     if (config.getGithubToken() != null) {
       builder = builder.withOAuthToken(config.getGithubToken());
     }
 
-    return builder.build().getOrganization(config.getGithubClassroom());
+    client =
+        builder.withRateLimitChecker(new RateLimitChecker.LiteralValue(RATE_LIMIT_RESERVE)).build();
+
+    return client;
+  }
+
+  private synchronized GHOrganization getGithub() throws IOException {
+    if (organization != null) {
+      return organization;
+    }
+
+    organization = getClient().getOrganization(config.getGithubClassroom());
+
+    return organization;
+  }
+
+  private boolean isCheckedOut(File dir, String hash) {
+    if (!dir.exists()) {
+      return false;
+    }
+
+    try (Git git = Git.open(dir)) {
+      ObjectId head = git.getRepository().resolve(Constants.HEAD);
+
+      return head != null && head.getName().equals(hash);
+    } catch (IOException e) {
+      return false;
+    }
   }
 
   private void getRepo(String url, File dir) throws IOException, GitAPIException {
@@ -74,7 +138,7 @@ public class Github {
 
     if (dir.exists()) {
       try {
-        Git.open(dir).pull().setCredentialsProvider(creds).call();
+        Git.open(dir).fetch().setCredentialsProvider(creds).call();
         return;
       } catch (GitAPIException e) {
         FileUtils.deleteDirectory(dir);
@@ -85,32 +149,49 @@ public class Github {
   }
 
   public void sendFeedback(List<ValidationResult> results) throws IOException {
-    GHOrganization github = getGithub();
+    new FeedbackDispatcher(this).send(results);
+  }
 
-    for (ValidationResult result : results) {
-      if (result.getViolations().getViolations().isEmpty()) {
-        continue;
-      }
+  public String getFeedback(ValidationResult result) throws IOException {
+    StringBuilder sb = new StringBuilder();
 
-      StringBuilder sb = new StringBuilder();
+    Markdown.message(sb, config.getStyleFeedback().getFeedbackMessage());
 
-      Markdown.message(sb, config.getStyleFeedback().getFeedbackMessage());
+    if (result.getError() == null) {
+      ValidationMarkdown.scoreTable(sb, result, config.getCategoryConfigs());
+      feedback(sb, result, config.getCategoryConfigs());
+    } else {
+      Markdown.message(sb, config.getStyleFeedback().getFeedbackError());
+    }
 
-      if (result.getError() == null) {
-        ValidationMarkdown.scoreTable(sb, result, config.getCategoryConfigs());
-        feedback(sb, result, config.getCategoryConfigs());
-      } else {
-        Markdown.message(sb, config.getStyleFeedback().getFeedbackError());
-      }
+    Markdown.footer(sb, result.getRepo());
 
-      Markdown.footer(sb, result.getRepo());
+    return sb.toString();
+  }
 
-      github
-          .getRepository(result.getRepo().getName())
-          .createIssue(config.getStyleFeedback().getFeedbackTitle())
-          .body(sb.toString())
-          .create();
+  public String postFeedback(Repo repo, String body) throws IOException {
+    GHIssue issue =
+        getGithub()
+            .getRepository(repo.getName())
+            .createIssue(config.getStyleFeedback().getFeedbackTitle())
+            .body(body)
+            .create();
+
+    return issue.getHtmlUrl().toString();
+  }
+
+  public String findFeedback(Repo repo, String body) throws IOException {
+    GHRepository ghRepo = getGithub().getRepository(repo.getName());
+    String title = config.getStyleFeedback().getFeedbackTitle();
+
+    for (GHIssue issue : ghRepo.queryIssues().state(GHIssueState.ALL).list()) {
+      if (issue.getTitle().equals(title)
+          && body.strip().equals(String.valueOf(issue.getBody()).strip())) {
+        return issue.getHtmlUrl().toString();
+      }
     }
+
+    return null;
   }
 
   private void feedback(StringBuilder sb, ValidationResult result, List<CategoryConfig> configs) {
@@ -1,5 +1,8 @@
 package gradestyle;
 
+import gradestyle.util.CompilationUnitCache;
+import gradestyle.util.JavaParser;
+import gradestyle.util.Sources;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
@@ -73,6 +76,12 @@ public class Repo {
 
   private String commit;
 
+  private JavaParser javaParser = new JavaParser(this);
+
+  private CompilationUnitCache compilationUnits = new CompilationUnitCache(this);
+
+  private Sources sources = new Sources();
+
   public Repo(Path dir, String org, String name, String commit) {
     this.dir = dir;
     this.org = org;
@@ -96,6 +105,18 @@ public class Repo {
     return commit;
   }
 
+  public JavaParser getJavaParser() {
+    return javaParser;
+  }
+
+  public CompilationUnitCache getCompilationUnits() {
+    return compilationUnits;
+  }
+
+  public Sources getSources() {
+    return sources;
+  }
+
   public String getRepoUrl() {
     if (org == null || name == null) {
       return null;
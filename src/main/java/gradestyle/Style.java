@@ -1,6 +1,9 @@
 package gradestyle;
 
 import gradestyle.config.Config;
+import gradestyle.similarity.Match;
+import gradestyle.similarity.Similarity;
+import gradestyle.similarity.SimilarityCsv;
 import gradestyle.validator.Validation;
 import gradestyle.validator.ValidationCsv;
 import gradestyle.validator.ValidationMarkdown;
@@ -12,7 +15,9 @@ import gradestyle.validator.cpd.Cpd;
 import gradestyle.validator.javaparser.JavaParser;
 import gradestyle.validator.pmd.Pmd;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class Style {
   public static void main(String[] args) {
@@ -24,27 +29,104 @@ public class Style {
 
     Github github = new Github(config);
     List<Repo> repos = Repo.getRepos(github);
-    List<ValidationResult> results = runValidation(config, repos);
+
+    if (config.getReportsStreaming()) {
+      streamResults(config, github, repos);
+      outputSimilarity(config, repos);
+      return;
+    }
+
+    List<ValidationResult> results = new ArrayList<>();
+
+    runValidation(config, repos, results::add);
 
     outputCsv(config, results);
     outputMarkdown(config, results);
+    outputSimilarity(config, repos);
     sendGithubFeedback(github, results);
   }
 
-  private static List<ValidationResult> runValidation(Config config, List<Repo> repos) {
+  private static void streamResults(Config config, Github github, List<Repo> repos) {
+    ValidationCsv writer = new ValidationCsv(config.getCategoryConfigs(), List.of());
+    Csv csv = openCsv(config, writer);
+    FeedbackDispatcher dispatcher =
+        github.getConfig().getGithubFeedback() ? new FeedbackDispatcher(github) : null;
+
+    runValidation(
+        config,
+        repos,
+        result -> {
+          appendCsv(csv, writer, result);
+          outputMarkdown(config, List.of(result));
+
+          if (dispatcher != null) {
+            dispatcher.submit(result);
+          }
+        });
+
+    closeCsv(csv);
+    finishGithubFeedback(dispatcher);
+  }
+
+  private static void runValidation(
+      Config config, List<Repo> repos, Consumer<ValidationResult> consumer) {
     Validator[] validators = {new Checkstyle(), new JavaParser(), new Pmd(), new Cpd()};
 
     Validation validation = new Validation(validators, config);
 
     try {
-      return validation.validate(repos);
+      validation.validate(repos, consumer);
     } catch (ValidatorException e) {
       System.err.println("Unable to run style validation.");
       e.printStackTrace();
       System.exit(1);
     }
+  }
 
-    return null;
+  private static Csv openCsv(Config config, ValidationCsv writer) {
+    if (config.getStyleFeedback().getReportsCsv() == null) {
+      return null;
+    }
+
+    Csv csv = new Csv(config.getStyleFeedback().getReportsCsv(), writer);
+
+    try {
+      csv.open();
+    } catch (IOException e) {
+      System.err.println("Unable to write CSV file.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+
+    return csv;
+  }
+
+  private static void appendCsv(Csv csv, ValidationCsv writer, ValidationResult result) {
+    if (csv == null) {
+      return;
+    }
+
+    try {
+      csv.append(writer.getRow(result));
+    } catch (IOException e) {
+      System.err.println("Unable to write CSV file.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void closeCsv(Csv csv) {
+    if (csv == null) {
+      return;
+    }
+
+    try {
+      csv.close();
+    } catch (IOException e) {
+      System.err.println("Unable to write CSV file.");
+      e.printStackTrace();
+      System.exit(1);
+    }
   }
 
   private static void outputCsv(Config config, List<ValidationResult> results) {
@@ -82,6 +164,37 @@ public class Style {
     }
   }
 
+  private static void outputSimilarity(Config config, List<Repo> repos) {
+    if (config.getReportsSimilarity() == null) {
+      return;
+    }
+
+    try {
+      List<Match> matches = new Similarity(config).find(repos);
+      Csv csv = new Csv(config.getReportsSimilarity(), new SimilarityCsv(matches));
+
+      csv.write();
+    } catch (IOException e) {
+      System.err.println("Unable to write similarity report.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void finishGithubFeedback(FeedbackDispatcher dispatcher) {
+    if (dispatcher == null) {
+      return;
+    }
+
+    try {
+      dispatcher.finish();
+    } catch (IOException e) {
+      System.err.println("Unable to send GitHub feedback.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
   private static void sendGithubFeedback(Github github, List<ValidationResult> results) {
     if (!github.getConfig().getGithubFeedback()) {
       return;
@@ -3,12 +3,19 @@ package gradestyle.config;
 public class ClonesConfig extends CategoryConfig {
   private int tokens;
 
-  public ClonesConfig(CategoryConfig config, int tokens) {
+  private boolean cohort;
+
+  public ClonesConfig(CategoryConfig config, int tokens, boolean cohort) {
     super(config.getCategory(), config.getExamples(), config.getMode(), config.getScores());
     this.tokens = tokens;
+    this.cohort = cohort;
   }
 
   public int getTokens() {
     return this.tokens;
   }
+
+  public boolean getCohort() {
+    return this.cohort;
+  }
 }
@@ -1,6 +1,7 @@
 package gradestyle.config;
 
 import gradestyle.config.CategoryConfig.Mode;
+import gradestyle.similarity.Similarity;
 import gradestyle.validator.Category;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -26,6 +27,7 @@ public class Config {
       return createConfig(args[0]);
     } catch (ConfigurationException e) {
       System.err.println("Invalid config file: " + args[0]);
+      System.err.println(e.getMessage());
     }
 
     return null;
@@ -50,9 +52,23 @@ public class Config {
     Path defaultTemplate = repos.resolve(repos.getFileName());
     Path template = resolveOptionalPath(repos, config.getString("template"), defaultTemplate);
     boolean templateIgnoreViolations = config.getBoolean("template.ignoreViolations", false);
+    int validationThreads = config.getInt("validation.threads", 1);
+    boolean concurrentValidators = config.getBoolean("validation.concurrentValidators", false);
+    boolean validationCohort = config.getBoolean("validation.cohort", false);
+    Path cache = resolveOptionalPath(parent, config.getString("cache"), null);
+    boolean cacheInvalidate = config.getBoolean("cache.invalidate", false);
 
     Path reportsCsv = resolveOptionalPath(parent, config.getString("reports.csv"), null);
     Path reportsMd = resolveOptionalPath(parent, config.getString("reports.md"), null);
+    boolean reportsStreaming = config.getBoolean("reports.streaming", false);
+    Path reportsSimilarity =
+        resolveOptionalPath(parent, config.getString("reports.similarity"), null);
+    double reportsSimilarityThreshold = config.getDouble("reports.similarity.threshold", 0.5);
+
+    if (reportsSimilarityThreshold < Similarity.MIN_THRESHOLD || reportsSimilarityThreshold > 1) {
+      throw new ConfigurationException(
+          "reports.similarity.threshold must be from " + Similarity.MIN_THRESHOLD + " to 1.");
+    }
     String feedbackTitle = config.getString("feedback.title");
     String feedbackMessage = config.getString("feedback.message");
     String feedbackError = config.getString("feedback.error");
@@ -66,6 +82,8 @@ public class Config {
     String githubClassroom = config.getString("github.classroom");
     String githubAssignment = config.getString("github.assignment");
     boolean githubFeedback = config.getBoolean("github.feedback", false);
+    Path githubFeedbackOutbox =
+        resolveOptionalPath(parent, config.getString("github.feedback.outbox"), null);
 
     List<CategoryConfig> categoryConfigs = createCategoryConfigs(config);
 
@@ -74,12 +92,21 @@ public class Config {
         packageString,
         template,
         templateIgnoreViolations,
+        validationThreads,
+        concurrentValidators,
+        validationCohort,
+        cache,
+        cacheInvalidate,
+        reportsStreaming,
+        reportsSimilarity,
+        reportsSimilarityThreshold,
         styleFeedback,
         github,
         githubToken,
         githubClassroom,
         githubAssignment,
         github && !categoryConfigs.isEmpty() && githubFeedback,
+        githubFeedbackOutbox,
         categoryConfigs);
   }
 
@@ -134,8 +161,9 @@ public class Config {
         case Clones:
           {
             int tokens = config.getInt(category.name() + ".tokens");
+            boolean cohort = config.getBoolean(category.name() + ".cohort", false);
 
-            categoryConfig = new ClonesConfig(categoryConfig, tokens);
+            categoryConfig = new ClonesConfig(categoryConfig, tokens, cohort);
           }
         default:
           break;
@@ -155,6 +183,22 @@ public class Config {
 
   private boolean templateIgnoreViolations;
 
+  private int validationThreads;
+
+  private boolean concurrentValidators;
+
+  private boolean validationCohort;
+
+  private Path cache;
+
+  private boolean cacheInvalidate;
+
+  private boolean reportsStreaming;
+
+  private Path reportsSimilarity;
+
+  private double reportsSimilarityThreshold;
+
   private FeedbackReportConfig styleFeedback;
 
   private boolean github;
@@ -167,6 +211,8 @@ public class Config {
 
   private boolean githubFeedback;
 
+  private Path githubFeedbackOutbox;
+
   private List<CategoryConfig> categoryConfigs;
 
   private Config(
@@ -174,23 +220,41 @@ public class Config {
       String packageString,
       Path templateRepo,
       boolean templateIgnoreViolations,
+      int validationThreads,
+      boolean concurrentValidators,
+      boolean validationCohort,
+      Path cache,
+      boolean cacheInvalidate,
+      boolean reportsStreaming,
+      Path reportsSimilarity,
+      double reportsSimilarityThreshold,
       FeedbackReportConfig styleFeedback,
       boolean github,
       String githubToken,
       String githubClassroom,
       String githubAssignment,
       boolean githubFeedback,
+      Path githubFeedbackOutbox,
       List<CategoryConfig> categoryConfigs) {
     this.repos = repos;
     this.packageString = packageString;
     this.templateRepo = templateRepo;
     this.templateIgnoreViolations = templateIgnoreViolations;
+    this.validationThreads = validationThreads;
+    this.concurrentValidators = concurrentValidators;
+    this.validationCohort = validationCohort;
+    this.cache = cache;
+    this.cacheInvalidate = cacheInvalidate;
+    this.reportsStreaming = reportsStreaming;
+    this.reportsSimilarity = reportsSimilarity;
+    this.reportsSimilarityThreshold = reportsSimilarityThreshold;
     this.styleFeedback = styleFeedback;
     this.github = github;
     this.githubToken = githubToken;
     this.githubClassroom = githubClassroom;
     this.githubAssignment = githubAssignment;
     this.githubFeedback = githubFeedback;
+    this.githubFeedbackOutbox = githubFeedbackOutbox;
     this.categoryConfigs = categoryConfigs;
   }
 
@@ -210,6 +274,38 @@ public class Config {
     return templateIgnoreViolations;
   }
 
+  public int getValidationThreads() {
+    return validationThreads;
+  }
+
+  public boolean getConcurrentValidators() {
+    return concurrentValidators;
+  }
+
+  public boolean getValidationCohort() {
+    return validationCohort;
+  }
+
+  public Path getCache() {
+    return cache;
+  }
+
+  public boolean getCacheInvalidate() {
+    return cacheInvalidate;
+  }
+
+  public boolean getReportsStreaming() {
+    return reportsStreaming;
+  }
+
+  public Path getReportsSimilarity() {
+    return reportsSimilarity;
+  }
+
+  public double getReportsSimilarityThreshold() {
+    return reportsSimilarityThreshold;
+  }
+
   public FeedbackReportConfig getStyleFeedback() {
     return styleFeedback;
   }
@@ -234,6 +330,10 @@ public class Config {
     return githubFeedback;
   }
 
+  public Path getGithubFeedbackOutbox() {
+    return githubFeedbackOutbox;
+  }
+
   public List<CategoryConfig> getCategoryConfigs() {
     return categoryConfigs;
   }
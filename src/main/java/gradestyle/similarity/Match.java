@@ -0,0 +1,44 @@
+package gradestyle.similarity;
+
+import gradestyle.Repo;
+import java.nio.file.Path;
+
+public class Match {
+  private Repo repo1;
+
+  private Path file1;
+
+  private Repo repo2;
+
+  private Path file2;
+
+  private double similarity;
+
+  public Match(Repo repo1, Path file1, Repo repo2, Path file2, double similarity) {
+    this.repo1 = repo1;
+    this.file1 = file1;
+    this.repo2 = repo2;
+    this.file2 = file2;
+    this.similarity = similarity;
+  }
+
+  public Repo getRepo1() {
+    return repo1;
+  }
+
+  public Path getFile1() {
+    return file1;
+  }
+
+  public Repo getRepo2() {
+    return repo2;
+  }
+
+  public Path getFile2() {
+    return file2;
+  }
+
+  public double getSimilarity() {
+    return similarity;
+  }
+}
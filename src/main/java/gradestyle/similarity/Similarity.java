@@ -0,0 +1,331 @@
+package gradestyle.similarity;
+
+import com.github.javaparser.JavaToken;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import gradestyle.Repo;
+import gradestyle.config.Config;
+import gradestyle.util.FileUtils;
+import gradestyle.util.JavaParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Similarity {
+  private static final int SHINGLE = 5;
+
+  private static final int MIN_SHINGLES = 20;
+
+  private static final int HASHES = 128;
+
+  private static final double RECALL = 0.99;
+
+  public static final double MIN_THRESHOLD = 0.05;
+
+  private static final long IDENTIFIER = hash("$identifier");
+
+  private static final long LITERAL = hash("$literal");
+
+  private static final long[] SEEDS = new long[HASHES];
+
+  static {
+    for (int i = 0; i < SEEDS.length; i++) {
+      SEEDS[i] = mix(i + 1);
+    }
+  }
+
+  private static class Unit {
+    private int repo;
+
+    private Path file;
+
+    private long[] shingles;
+
+    private long[] signature;
+  }
+
+  private Config config;
+
+  private int rows;
+
+  private int bands;
+
+  public Similarity(Config config) {
+    this.config = config;
+    this.rows = getRows(config.getReportsSimilarityThreshold());
+    this.bands = HASHES / rows;
+  }
+
+  // The most rows per band that still make a pair at the threshold a candidate with RECALL.
+  private static int getRows(double threshold) {
+    int rows = 1;
+
+    while (rows < HASHES && getRecall(threshold, rows + 1) >= RECALL) {
+      rows++;
+    }
+
+    return rows;
+  }
+
+  private static double getRecall(double similarity, int rows) {
+    return 1 - Math.pow(1 - Math.pow(similarity, rows), HASHES / rows);
+  }
+
+  public List<Match> find(List<Repo> repos) throws IOException {
+    Set<Long> template = getTemplateShingles();
+    List<Unit> units = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(config.getValidationThreads());
+
+    try {
+      List<Future<List<Unit>>> futures = new ArrayList<>();
+
+      for (int i = 0; i < repos.size(); i++) {
+        int repo = i;
+        Callable<List<Unit>> task = () -> collect(repos.get(repo), repo, template);
+
+        futures.add(executor.submit(task));
+      }
+
+      for (Future<List<Unit>> future : futures) {
+        units.addAll(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException cause) {
+        throw cause;
+      }
+
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new IOException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<Match> matches = new ArrayList<>();
+
+    for (long candidate : getCandidates(units)) {
+      Unit unit1 = units.get((int) (candidate >>> 32));
+      Unit unit2 = units.get((int) candidate);
+      double similarity = getJaccard(unit1.shingles, unit2.shingles);
+
+      if (similarity >= config.getReportsSimilarityThreshold()) {
+        matches.add(
+            new Match(
+                repos.get(unit1.repo), unit1.file, repos.get(unit2.repo), unit2.file, similarity));
+      }
+    }
+
+    matches.sort(
+        Comparator.comparingDouble(Match::getSimilarity)
+            .reversed()
+            .thenComparing(match -> match.getRepo1().getName())
+            .thenComparing(Match::getFile1)
+            .thenComparing(match -> match.getRepo2().getName())
+            .thenComparing(Match::getFile2));
+
+    return matches;
+  }
+
+  private Set<Long> getTemplateShingles() throws IOException {
+    Set<Long> shingles = new HashSet<>();
+    Path dir = config.getTemplateRepo();
+
+    if (!Files.isDirectory(dir.resolve(FileUtils.MAIN_DIR))) {
+      return shingles;
+    }
+
+    Repo template = new Repo(dir, null, dir.getFileName().toString(), null);
+
+    for (Unit unit : collect(template, -1, Set.of())) {
+      for (long shingle : unit.shingles) {
+        shingles.add(shingle);
+      }
+    }
+
+    return shingles;
+  }
+
+  private List<Unit> collect(Repo repo, int index, Set<Long> template) throws IOException {
+    List<Unit> units = new ArrayList<>();
+
+    if (!Files.isDirectory(FileUtils.getMainDir(repo))) {
+      return units;
+    }
+
+    com.github.javaparser.JavaParser parser = repo.getJavaParser().get(JavaParser.Profile.SYNTAX);
+
+    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).sorted().toList()) {
+      ParseResult<CompilationUnit> result = parser.parse(file);
+
+      if (!result.isSuccessful()) {
+        continue;
+      }
+
+      long[] shingles =
+          Arrays.stream(getShingles(result.getResult().get()))
+              .filter(shingle -> !template.contains(shingle))
+              .toArray();
+
+      if (index != -1 && shingles.length < MIN_SHINGLES) {
+        continue;
+      }
+
+      Unit unit = new Unit();
+
+      unit.repo = index;
+      unit.file = repo.getDir().relativize(file);
+      unit.shingles = shingles;
+      unit.signature = index == -1 ? null : getSignature(shingles);
+
+      units.add(unit);
+    }
+
+    return units;
+  }
+
+  private long[] getShingles(CompilationUnit cu) {
+    List<Long> tokens = new ArrayList<>();
+
+    for (TypeDeclaration<?> type : cu.getTypes()) {
+      if (type.getTokenRange().isEmpty()) {
+        continue;
+      }
+
+      for (JavaToken token : type.getTokenRange().get()) {
+        JavaToken.Category category = token.getCategory();
+
+        if (category.isWhitespaceOrComment()) {
+          continue;
+        }
+
+        if (category.isIdentifier()) {
+          tokens.add(IDENTIFIER);
+        } else if (category.isLiteral()) {
+          tokens.add(LITERAL);
+        } else {
+          tokens.add(hash(token.getText()));
+        }
+      }
+    }
+
+    long[] shingles = new long[Math.max(tokens.size() - SHINGLE + 1, 0)];
+
+    for (int i = 0; i < shingles.length; i++) {
+      long shingle = 0;
+
+      for (int j = i; j < i + SHINGLE; j++) {
+        shingle = mix(shingle ^ tokens.get(j));
+      }
+
+      shingles[i] = shingle;
+    }
+
+    return Arrays.stream(shingles).sorted().distinct().toArray();
+  }
+
+  private long[] getSignature(long[] shingles) {
+    long[] signature = new long[SEEDS.length];
+
+    Arrays.fill(signature, Long.MAX_VALUE);
+
+    for (long shingle : shingles) {
+      for (int i = 0; i < SEEDS.length; i++) {
+        signature[i] = Math.min(signature[i], mix(shingle ^ SEEDS[i]));
+      }
+    }
+
+    return signature;
+  }
+
+  private Set<Long> getCandidates(List<Unit> units) {
+    Map<Long, List<Integer>> buckets = new HashMap<>();
+
+    for (int i = 0; i < units.size(); i++) {
+      long[] signature = units.get(i).signature;
+
+      for (int band = 0; band < bands; band++) {
+        long key = band;
+
+        for (int row = band * rows; row < (band + 1) * rows; row++) {
+          key = mix(key ^ signature[row]);
+        }
+
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+      }
+    }
+
+    Set<Long> candidates = new HashSet<>();
+
+    for (List<Integer> bucket : buckets.values()) {
+      for (int i = 0; i < bucket.size(); i++) {
+        for (int j = i + 1; j < bucket.size(); j++) {
+          int unit1 = bucket.get(i);
+          int unit2 = bucket.get(j);
+
+          if (units.get(unit1).repo != units.get(unit2).repo) {
+            candidates.add((long) unit1 << 32 | unit2);
+          }
+        }
+      }
+    }
+
+    return candidates;
+  }
+
+  private double getJaccard(long[] shingles1, long[] shingles2) {
+    int shared = 0;
+    int i = 0;
+    int j = 0;
+
+    while (i < shingles1.length && j < shingles2.length) {
+      if (shingles1[i] < shingles2[j]) {
+        i++;
+      } else if (shingles1[i] > shingles2[j]) {
+        j++;
+      } else {
+        shared++;
+        i++;
+        j++;
+      }
+    }
+
+    return (double) shared / (shingles1.length + shingles2.length - shared);
+  }
+
+  private static long hash(String text) {
+    long hash = 0xcbf29ce484222325L;
+
+    for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+    }
+
+    return hash;
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+
+    return value ^ (value >>> 31);
+  }
+}
@@ -0,0 +1,35 @@
+package gradestyle.similarity;
+
+import gradestyle.Csv.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimilarityCsv implements Writer {
+  private List<Match> matches;
+
+  public SimilarityCsv(List<Match> matches) {
+    this.matches = matches;
+  }
+
+  @Override
+  public List<String> getHeaders() {
+    return List.of("Similarity", "Name 1", "File 1", "Name 2", "File 2");
+  }
+
+  @Override
+  public List<List<Object>> getRows() {
+    List<List<Object>> rows = new ArrayList<>();
+
+    for (Match match : matches) {
+      rows.add(
+          List.of(
+              Math.round(match.getSimilarity() * 1000) / 1000.0,
+              match.getRepo1().getName(),
+              match.getFile1().toString(),
+              match.getRepo2().getName(),
+              match.getFile2().toString()));
+    }
+
+    return rows;
+  }
+}
@@ -0,0 +1,40 @@
+package gradestyle.util;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import gradestyle.Repo;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CompilationUnitCache {
+  private Repo repo;
+
+  private Map<Path, ParseResult<CompilationUnit>> results = new ConcurrentHashMap<>();
+
+  public CompilationUnitCache(Repo repo) {
+    this.repo = repo;
+  }
+
+  public ParseResult<CompilationUnit> parse(Path file) throws IOException {
+    try {
+      return results.computeIfAbsent(file, this::parseUnchecked);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private ParseResult<CompilationUnit> parseUnchecked(Path file) {
+    try {
+      return repo.getJavaParser().get(JavaParser.Profile.FULL).parse(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void clear() {
+    results.clear();
+  }
+}
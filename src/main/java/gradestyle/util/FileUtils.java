@@ -27,6 +27,10 @@ public class FileUtils {
     return getFileExtension(file).equals("java");
   }
 
+  public static Path normalize(Path file) {
+    return file.toAbsolutePath().normalize();
+  }
+
   public static boolean isInRepoTestDir(Repo repo, Path file) {
     return file.toAbsolutePath().startsWith(repo.getDir().resolve(TEST_DIR).toAbsolutePath());
   }
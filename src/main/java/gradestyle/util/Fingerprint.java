@@ -0,0 +1,61 @@
+package gradestyle.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class Fingerprint {
+  private MessageDigest digest;
+
+  public Fingerprint() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public Fingerprint add(String value) {
+    return add(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Fingerprint add(Object... values) {
+    for (Object value : values) {
+      add(String.valueOf(value));
+    }
+
+    return this;
+  }
+
+  public Fingerprint add(byte[] bytes) {
+    return add(ByteBuffer.wrap(bytes));
+  }
+
+  public Fingerprint add(ByteBuffer bytes) {
+    digest.update((bytes.remaining() + ":").getBytes(StandardCharsets.UTF_8));
+    digest.update(bytes);
+
+    return this;
+  }
+
+  public Fingerprint add(Path file) throws IOException {
+    return add(Files.readAllBytes(file));
+  }
+
+  public Fingerprint add(URL resource) throws IOException {
+    try (InputStream in = resource.openStream()) {
+      return add(in.readAllBytes());
+    }
+  }
+
+  public String get() {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
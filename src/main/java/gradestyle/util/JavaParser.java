@@ -6,15 +6,46 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeS
 import gradestyle.Repo;
 
 public class JavaParser {
-  public static com.github.javaparser.JavaParser get(Repo repo) {
-    JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(FileUtils.getMainDir(repo));
-    JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
+  public enum Profile {
+    FULL,
+    SYNTAX,
+  }
+
+  private Repo repo;
+
+  private ParserConfiguration fullConfig;
+
+  private ParserConfiguration syntaxConfig =
+      new ParserConfiguration()
+          .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+          .setAttributeComments(false);
+
+  public JavaParser(Repo repo) {
+    this.repo = repo;
+  }
+
+  public com.github.javaparser.JavaParser get(Profile profile) {
+    switch (profile) {
+      case FULL:
+        return new com.github.javaparser.JavaParser(getFullConfig());
+      case SYNTAX:
+        return new com.github.javaparser.JavaParser(syntaxConfig);
+      default:
+        throw new IllegalArgumentException("Unknown parser profile: " + profile);
+    }
+  }
+
+  private synchronized ParserConfiguration getFullConfig() {
+    if (fullConfig == null) {
+      JavaParserTypeSolver typeSolver = new JavaParserTypeSolver(FileUtils.getMainDir(repo));
+      JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
 
-    ParserConfiguration config =
-        new ParserConfiguration()
-            .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
-            .setSymbolResolver(symbolSolver);
+      fullConfig =
+          new ParserConfiguration()
+              .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+              .setSymbolResolver(symbolSolver);
+    }
 
-    return new com.github.javaparser.JavaParser(config);
+    return fullConfig;
   }
 }
@@ -0,0 +1,114 @@
+package gradestyle.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class Source {
+  private static final long MAP_THRESHOLD = 1 << 20;
+
+  public static Source read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file)) {
+      long size = channel.size();
+
+      if (size >= MAP_THRESHOLD) {
+        return new Source(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+      }
+
+      ByteBuffer bytes = ByteBuffer.allocate((int) size);
+
+      while (bytes.hasRemaining() && channel.read(bytes) != -1) {}
+
+      return new Source(bytes.flip());
+    }
+  }
+
+  private ByteBuffer bytes;
+
+  private String text;
+
+  private int[] lineOffsets;
+
+  private int lineCount;
+
+  private String hash;
+
+  private Source(ByteBuffer bytes) {
+    this.bytes = bytes.asReadOnlyBuffer();
+  }
+
+  public ByteBuffer getBytes() {
+    return bytes.duplicate();
+  }
+
+  public synchronized String getText() throws IOException {
+    if (text == null) {
+      text = StandardCharsets.UTF_8.newDecoder().decode(getBytes()).toString();
+    }
+
+    return text;
+  }
+
+  public synchronized int getLineCount() throws IOException {
+    if (lineOffsets == null) {
+      indexLines();
+    }
+
+    return lineCount;
+  }
+
+  public String getLine(int line) throws IOException {
+    if (line < 1 || line > getLineCount()) {
+      throw new IndexOutOfBoundsException(line);
+    }
+
+    int begin = lineOffsets[line - 1];
+    int end = begin;
+
+    while (end < text.length() && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+      end++;
+    }
+
+    return text.substring(begin, end);
+  }
+
+  public synchronized String getHash() {
+    if (hash == null) {
+      hash = new Fingerprint().add(getBytes()).get();
+    }
+
+    return hash;
+  }
+
+  // Lines end at \n, \r or \r\n, with no extra line after a final terminator, as in Files.lines.
+  private void indexLines() throws IOException {
+    String text = getText();
+    int[] offsets = new int[16];
+    int count = 0;
+    int i = 0;
+
+    while (i < text.length()) {
+      if (count == offsets.length) {
+        offsets = Arrays.copyOf(offsets, count * 2);
+      }
+
+      offsets[count++] = i;
+
+      while (i < text.length() && text.charAt(i) != '\n' && text.charAt(i) != '\r') {
+        i++;
+      }
+
+      if (text.startsWith("\r\n", i)) {
+        i += 2;
+      } else if (i < text.length()) {
+        i++;
+      }
+    }
+
+    lineOffsets = offsets;
+    lineCount = count;
+  }
+}
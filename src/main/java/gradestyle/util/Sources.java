@@ -0,0 +1,31 @@
+package gradestyle.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Sources {
+  private Map<Path, Source> sources = new ConcurrentHashMap<>();
+
+  public Source get(Path file) throws IOException {
+    try {
+      return sources.computeIfAbsent(FileUtils.normalize(file), this::readUnchecked);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Source readUnchecked(Path file) {
+    try {
+      return Source.read(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void clear() {
+    sources.clear();
+  }
+}
@@ -0,0 +1,8 @@
+package gradestyle.validator;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface CohortValidator extends FileValidator {
+  void prepare(List<Path> files) throws ValidatorException;
+}
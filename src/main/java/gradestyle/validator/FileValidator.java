@@ -0,0 +1,21 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface FileValidator extends Validator {
+  List<Path> getFiles(Repo repo) throws IOException;
+
+  Violations validate(Repo repo, List<Path> files) throws ValidatorException;
+
+  @Override
+  default Violations validate(Repo repo) throws ValidatorException {
+    try {
+      return validate(repo, getFiles(repo));
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
+  }
+}
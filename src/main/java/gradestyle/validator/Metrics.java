@@ -0,0 +1,104 @@
+package gradestyle.validator;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.stmt.IfStmt;
+import gradestyle.Repo;
+import gradestyle.util.FileUtils;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class Metrics {
+  public static Metrics collect(Repo repo) throws IOException {
+    Metrics metrics = new Metrics();
+
+    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
+      ParseResult<CompilationUnit> result = repo.getCompilationUnits().parse(file);
+
+      if (!result.isSuccessful()) {
+        throw new IOException();
+      }
+
+      CompilationUnit cu = result.getResult().get();
+
+      cu.walk(metrics::count);
+
+      metrics.add(
+          cu.getAllComments().stream()
+              .filter(Comment::isJavadocComment)
+              .map(Comment::getRange)
+              .map(Optional::get)
+              .mapToInt(Range::getLineCount)
+              .sum(),
+          Category.JavaDoc);
+    }
+
+    try (Stream<Path> files = FileUtils.getFxmlFiles(repo.getDir())) {
+      metrics.add(files.count(), Category.JavaFX);
+    }
+
+    return metrics;
+  }
+
+  private long[] normalisations = new long[Category.values().length];
+
+  public Metrics() {}
+
+  public Metrics(long[] normalisations) {
+    this.normalisations = normalisations.clone();
+  }
+
+  public long getNormalisation(Category category) {
+    return normalisations[category.ordinal()];
+  }
+
+  public long[] getNormalisations() {
+    return normalisations.clone();
+  }
+
+  private void count(Node node) {
+    if (node instanceof ClassOrInterfaceDeclaration || node instanceof EnumDeclaration) {
+      add(
+          1,
+          Category.Formatting,
+          Category.Commenting,
+          Category.Useless,
+          Category.StringConcatenation,
+          Category.Clones,
+          Category.ClassNames);
+    } else if (node instanceof MethodDeclaration) {
+      add(1, Category.MethodNames, Category.Ordering);
+    } else if (node instanceof VariableDeclarator || node instanceof Parameter) {
+      add(1, Category.VariableNames);
+    } else if (node instanceof PackageDeclaration) {
+      add(1, Category.PackageNames);
+    } else if (node instanceof FieldDeclaration field && field.isStatic()) {
+      add(1, Category.Ordering);
+    } else if (node instanceof FieldDeclaration) {
+      add(1, Category.PrivateMembers, Category.Ordering);
+    } else if (node instanceof ConstructorDeclaration) {
+      add(1, Category.Ordering);
+    } else if (node instanceof IfStmt) {
+      add(1, Category.EarlyReturn);
+    }
+  }
+
+  private void add(long count, Category... categories) {
+    for (Category category : categories) {
+      normalisations[category.ordinal()] += count;
+    }
+  }
+}
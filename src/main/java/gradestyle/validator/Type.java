@@ -89,6 +89,7 @@ public enum Type {
   StringConcatenation,
 
   Clones,
+  Clones_Cohort,
 
   JavaFX_Controller,
   JavaFX_FieldAnnotation,
@@ -268,6 +269,8 @@ public enum Type {
 
       case Clones:
         return "This code is cloned.";
+      case Clones_Cohort:
+        return "This code is also in another repo.";
 
       case JavaFX_Controller:
         return "This controller class does not match the naming convention.";
@@ -1,16 +1,24 @@
 package gradestyle.validator;
 
 import gradestyle.Repo;
+import gradestyle.config.CategoryConfig.Mode;
 import gradestyle.config.Config;
 import gradestyle.util.FileUtils;
+import gradestyle.util.Source;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class Validation {
@@ -18,13 +26,27 @@ public class Validation {
 
   private Config config;
 
+  private ExecutorService validatorExecutor;
+
+  private ValidationCache cache;
+
   public Validation(Validator[] validators, Config config) {
     this.validators = validators;
     this.config = config;
+    this.cache = new ValidationCache(config);
   }
 
   public List<ValidationResult> validate(List<Repo> repos) throws ValidatorException {
-    Map<String, List<String>> templateRepoLines;
+    List<ValidationResult> results = new ArrayList<>();
+
+    validate(repos, results::add);
+
+    return results;
+  }
+
+  public void validate(List<Repo> repos, Consumer<ValidationResult> consumer)
+      throws ValidatorException {
+    Map<String, Set<String>> templateRepoLines;
 
     try {
       templateRepoLines = readTemplateRepoLines();
@@ -33,18 +55,179 @@ public class Validation {
     }
 
     for (Validator validator : validators) {
-      validator.setup(config);
+      validator.setup(config, repos);
     }
 
-    List<ValidationResult> results = new ArrayList<>();
+    try {
+      cache.setup(validators);
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
+
+    if (config.getValidationCohort()) {
+      prepareCohort(repos);
+    }
+
+    if (config.getConcurrentValidators()) {
+      validatorExecutor = Executors.newCachedThreadPool();
+    }
+
+    try {
+      if (config.getValidationThreads() > 1) {
+        validateConcurrently(repos, templateRepoLines, consumer);
+        return;
+      }
+
+      for (Repo repo : repos) {
+        consumer.accept(validate(repo, templateRepoLines));
+      }
+    } finally {
+      if (validatorExecutor != null) {
+        validatorExecutor.shutdownNow();
+      }
+    }
+  }
+
+  private void prepareCohort(List<Repo> repos) throws ValidatorException {
+    List<Repo> uncached = repos.stream().filter(repo -> !cache.contains(repo)).toList();
+
+    for (Validator validator : validators) {
+      if (!(validator instanceof CohortValidator cohortValidator)) {
+        continue;
+      }
+
+      List<Path> files = new ArrayList<>();
+
+      try {
+        for (Repo repo : uncached) {
+          files.addAll(cache.getUncachedFiles(cohortValidator, repo));
+          repo.getSources().clear();
+        }
+      } catch (IOException e) {
+        throw new ValidatorException(e);
+      }
+
+      cohortValidator.prepare(files);
+    }
+  }
+
+  private void validateConcurrently(
+      List<Repo> repos,
+      Map<String, Set<String>> templateRepoLines,
+      Consumer<ValidationResult> consumer)
+      throws ValidatorException {
+    ExecutorService executor = Executors.newFixedThreadPool(config.getValidationThreads());
+    int window = config.getValidationThreads() * 2;
+
+    try {
+      List<Future<ValidationResult>> futures = new ArrayList<>();
+
+      for (int i = 0; i < repos.size(); i++) {
+        while (futures.size() < repos.size() && futures.size() < i + window) {
+          Repo repo = repos.get(futures.size());
+          futures.add(executor.submit(() -> validate(repo, templateRepoLines)));
+        }
+
+        consumer.accept(getResult(futures.get(i)));
+        futures.set(i, null);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private <T> T getResult(Future<T> future) throws ValidatorException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ValidatorException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ValidatorException cause) {
+        throw cause;
+      }
+
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
 
-    for (Repo repo : repos) {
-      List<Violation> violations = new ArrayList<>();
-      Path error = null;
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+
+      throw new ValidatorException(e);
+    }
+  }
+
+  private ValidationResult validate(Repo repo, Map<String, Set<String>> templateRepoLines)
+      throws ValidatorException {
+    ValidationResult result = cache.get(repo);
+
+    if (result == null) {
+      result = validateUncached(repo, templateRepoLines);
+
+      try {
+        cache.put(result);
+      } catch (IOException e) {
+        throw new ValidatorException(e);
+      }
+    }
+
+    return addCohortViolations(result, templateRepoLines);
+  }
+
+  private ValidationResult addCohortViolations(
+      ValidationResult result, Map<String, Set<String>> templateRepoLines)
+      throws ValidatorException {
+    if (result.getError() != null) {
+      return result;
+    }
+
+    Repo repo = result.getRepo();
+    Violations cohortViolations = new Violations();
 
+    try {
       for (Validator validator : validators) {
+        for (Violation violation : validator.validateCohort(repo).getViolations()) {
+          if (notInTemplate(violation, repo, templateRepoLines)) {
+            cohortViolations.add(violation);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    } finally {
+      repo.getSources().clear();
+    }
+
+    if (cohortViolations.size() == 0) {
+      return result;
+    }
+
+    Violations violations = new Violations();
+
+    violations.addAll(result.getViolations());
+    violations.addAll(cohortViolations);
+
+    return new ValidationResult(repo, violations, null, result.getMetrics());
+  }
+
+  private ValidationResult validateUncached(Repo repo, Map<String, Set<String>> templateRepoLines)
+      throws ValidatorException {
+    Violations violations = new Violations();
+    Path error = null;
+    Metrics metrics = null;
+    List<Future<Violations>> futures = submitValidators(repo);
+
+    try {
+      for (int i = 0; i < validators.length; i++) {
+        Validator validator = validators[i];
+
         try {
-          for (Violation violation : validator.validate(repo).getViolations()) {
+          Violations validatorViolations =
+              futures.isEmpty() ? cache.validate(validator, repo) : getResult(futures.get(i));
+
+          for (Violation violation : validatorViolations.getViolations()) {
             if (notInTemplate(violation, repo, templateRepoLines)) {
               violations.add(violation);
             }
@@ -70,14 +253,44 @@ public class Validation {
         }
       }
 
-      results.add(new ValidationResult(repo, new Violations(violations), error));
+      if (error == null && hasRelativeCategory()) {
+        metrics = Metrics.collect(repo);
+      }
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    } finally {
+      for (Future<Violations> future : futures) {
+        future.cancel(true);
+      }
+
+      repo.getCompilationUnits().clear();
+      repo.getSources().clear();
     }
 
-    return results;
+    return new ValidationResult(repo, violations, error, metrics);
   }
 
-  private Map<String, List<String>> readTemplateRepoLines() throws IOException {
-    Map<String, List<String>> templateRepoLines = new HashMap<>();
+  private boolean hasRelativeCategory() {
+    return config.getCategoryConfigs().stream()
+        .anyMatch(categoryConfig -> categoryConfig.getMode() == Mode.RELATIVE);
+  }
+
+  private List<Future<Violations>> submitValidators(Repo repo) {
+    List<Future<Violations>> futures = new ArrayList<>();
+
+    if (validatorExecutor == null) {
+      return futures;
+    }
+
+    for (Validator validator : validators) {
+      futures.add(validatorExecutor.submit(() -> cache.validate(validator, repo)));
+    }
+
+    return futures;
+  }
+
+  private Map<String, Set<String>> readTemplateRepoLines() throws IOException {
+    Map<String, Set<String>> templateRepoLines = new HashMap<>();
 
     if (!config.getTemplateIgnoreViolations()) {
       return templateRepoLines;
@@ -87,7 +300,7 @@ public class Validation {
       for (Path file : files.toList()) {
         try (Stream<String> lines = Files.lines(file)) {
           templateRepoLines
-              .computeIfAbsent(file.getFileName().toString(), x -> new ArrayList<>())
+              .computeIfAbsent(file.getFileName().toString(), x -> new HashSet<>())
               .addAll(lines.toList());
         }
       }
@@ -97,24 +310,23 @@ public class Validation {
   }
 
   private boolean notInTemplate(
-      Violation violation, Repo repo, Map<String, List<String>> templateRepoLines)
+      Violation violation, Repo repo, Map<String, Set<String>> templateRepoLines)
       throws IOException {
     if (!config.getTemplateIgnoreViolations()) {
       return true;
     }
 
-    String fileName = violation.getPath().getFileName().toString();
+    Set<String> templateLines = templateRepoLines.get(violation.getPath().getFileName().toString());
 
-    if (!templateRepoLines.containsKey(fileName)) {
+    if (templateLines == null) {
       return true;
     }
 
-    List<String> templateLines = templateRepoLines.get(fileName);
-
-    try (Stream<String> repoLines = Files.lines(violation.getPath())) {
-      Optional<String> repoLine = repoLines.skip(violation.getLine() - 1).findFirst();
+    Source source = repo.getSources().get(violation.getPath());
+    int line = violation.getLine();
 
-      return repoLine.isEmpty() || !templateLines.contains(repoLine.get());
-    }
+    return line < 1
+        || line > source.getLineCount()
+        || !templateLines.contains(source.getLine(line));
   }
 }
@@ -0,0 +1,315 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import gradestyle.config.Config;
+import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+
+public class ValidationCache {
+  private static final String ERROR = "Error";
+
+  private static final String METRICS = "Metrics";
+
+  private Config config;
+
+  private Path dir;
+
+  private Map<Validator, Path> fileDirs = new HashMap<>();
+
+  public ValidationCache(Config config) {
+    this.config = config;
+  }
+
+  public void setup(Validator[] validators) throws IOException {
+    if (config.getCache() == null) {
+      return;
+    }
+
+    Fingerprint fingerprint = new Fingerprint();
+    URL source = getClass().getProtectionDomain().getCodeSource().getLocation();
+    String sourceFingerprint = "";
+
+    if (source.getPath().endsWith(".jar")) {
+      sourceFingerprint = new Fingerprint().add(source).get();
+    }
+
+    for (Validator validator : validators) {
+      Fingerprint validatorFingerprint =
+          new Fingerprint().add(sourceFingerprint, validator.getClass().getName());
+
+      validator.fingerprint(validatorFingerprint);
+
+      String hash = validatorFingerprint.get();
+
+      fingerprint.add(hash);
+      fileDirs.put(validator, config.getCache().resolve("files").resolve(hash));
+    }
+
+    fingerprint.add(config.getTemplateIgnoreViolations());
+
+    if (config.getTemplateIgnoreViolations()) {
+      Path template = config.getTemplateRepo();
+
+      try (Stream<Path> files = FileUtils.getJavaFiles(template)) {
+        for (Path file : files.sorted().toList()) {
+          fingerprint.add(template.relativize(file).toString()).add(file);
+        }
+      }
+    }
+
+    dir = config.getCache().resolve("results").resolve(fingerprint.get());
+  }
+
+  public boolean contains(Repo repo) {
+    Path file = getFile(repo);
+
+    return file != null && !config.getCacheInvalidate() && Files.exists(file);
+  }
+
+  public List<Path> getUncachedFiles(FileValidator validator, Repo repo) throws IOException {
+    List<Path> files = validator.getFiles(repo);
+
+    if (!fileDirs.containsKey(validator) || config.getCacheInvalidate()) {
+      return files;
+    }
+
+    List<Path> uncached = new ArrayList<>();
+
+    for (Path file : files) {
+      if (!Files.exists(getFile(validator, repo, file))) {
+        uncached.add(file);
+      }
+    }
+
+    return uncached;
+  }
+
+  public ValidationResult get(Repo repo) {
+    Path file = getFile(repo);
+
+    if (file == null || config.getCacheInvalidate()) {
+      return null;
+    }
+
+    Violations violations = new Violations();
+    Map<String, Path> paths = new HashMap<>();
+    Path error = null;
+    Metrics metrics = null;
+
+    try {
+      for (CSVRecord record : read(file)) {
+        if (record.get(0).equals(METRICS)) {
+          metrics = getMetrics(record);
+          continue;
+        }
+
+        Path path = paths.computeIfAbsent(record.get(1), repo.getDir()::resolve);
+
+        if (record.get(0).equals(ERROR)) {
+          error = path;
+          continue;
+        }
+
+        addViolation(violations, record, path, 2);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+
+    return new ValidationResult(repo, violations, error, metrics);
+  }
+
+  public void put(ValidationResult result) throws IOException {
+    Repo repo = result.getRepo();
+    Path file = getFile(repo);
+
+    if (file == null) {
+      return;
+    }
+
+    List<List<Object>> records = new ArrayList<>();
+
+    if (result.getError() != null) {
+      records.add(List.of(ERROR, relativize(repo, result.getError()), -1, -1));
+    }
+
+    if (result.getMetrics() != null) {
+      List<Object> record = new ArrayList<>(List.of(METRICS));
+
+      for (long normalisation : result.getMetrics().getNormalisations()) {
+        record.add(normalisation);
+      }
+
+      records.add(record);
+    }
+
+    for (Violation violation : result.getViolations().getViolations()) {
+      records.add(
+          List.of(
+              violation.getType().name(),
+              relativize(repo, violation.getPath()),
+              violation.getLine(),
+              violation.getEndLine()));
+    }
+
+    write(file, records);
+  }
+
+  public Violations validate(Validator validator, Repo repo) throws ValidatorException {
+    if (!fileDirs.containsKey(validator) || !(validator instanceof FileValidator)) {
+      return validator.validate(repo);
+    }
+
+    try {
+      return validateFiles((FileValidator) validator, repo);
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
+  }
+
+  private Violations validateFiles(FileValidator validator, Repo repo)
+      throws ValidatorException, IOException {
+    List<Path> files = validator.getFiles(repo);
+    Map<Path, Path> cacheFiles = new HashMap<>();
+    Map<Path, Violations> fileViolations = new HashMap<>();
+    List<Path> uncached = new ArrayList<>();
+
+    for (Path file : files) {
+      Path cacheFile = getFile(validator, repo, file);
+      Violations violations = config.getCacheInvalidate() ? null : readFile(cacheFile, file);
+
+      cacheFiles.put(file, cacheFile);
+
+      if (violations == null) {
+        uncached.add(file);
+        fileViolations.put(FileUtils.normalize(file), new Violations());
+      } else {
+        fileViolations.put(FileUtils.normalize(file), violations);
+      }
+    }
+
+    Violations other = new Violations();
+
+    if (!uncached.isEmpty()) {
+      for (Violation violation : validator.validate(repo, uncached).getViolations()) {
+        fileViolations.getOrDefault(FileUtils.normalize(violation.getPath()), other).add(violation);
+      }
+
+      for (Path file : uncached) {
+        writeFile(cacheFiles.get(file), fileViolations.get(FileUtils.normalize(file)));
+      }
+    }
+
+    Violations violations = new Violations();
+
+    for (Path file : files) {
+      violations.addAll(fileViolations.get(FileUtils.normalize(file)));
+    }
+
+    violations.addAll(other);
+
+    return violations;
+  }
+
+  private Path getFile(Repo repo) {
+    if (dir == null || repo.getCommit() == null) {
+      return null;
+    }
+
+    return dir.resolve(repo.getCommit() + ".csv");
+  }
+
+  private Path getFile(Validator validator, Repo repo, Path file) throws IOException {
+    String hash =
+        new Fingerprint().add(relativize(repo, file), repo.getSources().get(file).getHash()).get();
+
+    return fileDirs.get(validator).resolve(hash.substring(0, 2)).resolve(hash + ".csv");
+  }
+
+  private Violations readFile(Path cacheFile, Path file) {
+    Violations violations = new Violations();
+
+    try {
+      for (CSVRecord record : read(cacheFile)) {
+        addViolation(violations, record, file, 1);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+
+    return violations;
+  }
+
+  private void writeFile(Path cacheFile, Violations violations) throws IOException {
+    List<List<Object>> records = new ArrayList<>();
+
+    for (Violation violation : violations.getViolations()) {
+      records.add(List.of(violation.getType().name(), violation.getLine(), violation.getEndLine()));
+    }
+
+    write(cacheFile, records);
+  }
+
+  private void addViolation(Violations violations, CSVRecord record, Path path, int lineIndex) {
+    Type type = Type.valueOf(record.get(0));
+    int line = Integer.parseInt(record.get(lineIndex));
+    int endLine = Integer.parseInt(record.get(lineIndex + 1));
+
+    violations.add(type, path, line, endLine);
+  }
+
+  private Metrics getMetrics(CSVRecord record) {
+    long[] normalisations = new long[Category.values().length];
+
+    if (record.size() != normalisations.length + 1) {
+      return null;
+    }
+
+    for (int i = 0; i < normalisations.length; i++) {
+      normalisations[i] = Long.parseLong(record.get(i + 1));
+    }
+
+    return new Metrics(normalisations);
+  }
+
+  private List<CSVRecord> read(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      return CSVFormat.DEFAULT.parse(reader).getRecords();
+    }
+  }
+
+  private void write(Path file, List<List<Object>> records) throws IOException {
+    Files.createDirectories(file.getParent());
+
+    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(temp);
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT)) {
+      printer.printRecords(records);
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private String relativize(Repo repo, Path path) {
+    return FileUtils.normalize(repo.getDir()).relativize(FileUtils.normalize(path)).toString();
+  }
+}
@@ -53,7 +53,7 @@ public class ValidationCsv implements Writer {
     return rows;
   }
 
-  private List<Object> getRow(ValidationResult result) throws IOException {
+  public List<Object> getRow(ValidationResult result) throws IOException {
     List<Object> row = new ArrayList<>();
 
     row.add(result.getRepo().getName());
@@ -76,11 +76,11 @@ public class ValidationCsv implements Writer {
 
     for (CategoryConfig config : configs) {
       for (Type type : config.getCategory().getTypes()) {
-        row.add(result.getViolations().filterByType(type).getViolations().size());
+        row.add(result.getViolations().getCount(type));
       }
     }
 
-    Map<Category, Integer> categoryScore = Category.getCategoryScores(result, configs);
+    Map<Category, Integer> categoryScore = result.getCategoryScores(configs);
     List<Integer> categoryScores =
         configs.stream().map(CategoryConfig::getCategory).map(categoryScore::get).toList();
 
@@ -53,7 +53,7 @@ public class ValidationMarkdown implements Markdown.Writer<ValidationResult> {
             .addRow(new BoldText("Category"), new BoldText("Score"))
             .withAlignments(Table.ALIGN_LEFT, Table.ALIGN_CENTER);
 
-    Map<Category, Integer> scores = Category.getCategoryScores(result, configs);
+    Map<Category, Integer> scores = result.getCategoryScores(configs);
 
     int total = 0;
     int max = 0;
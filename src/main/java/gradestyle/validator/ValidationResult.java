@@ -1,7 +1,11 @@
 package gradestyle.validator;
 
 import gradestyle.Repo;
+import gradestyle.config.CategoryConfig;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 public class ValidationResult {
   private Repo repo;
@@ -10,10 +14,17 @@ public class ValidationResult {
 
   private Path error;
 
-  ValidationResult(Repo repo, Violations violations, Path error) {
+  private Metrics metrics;
+
+  private List<CategoryConfig> scoreConfigs;
+
+  private Map<Category, Integer> scores;
+
+  ValidationResult(Repo repo, Violations violations, Path error, Metrics metrics) {
     this.repo = repo;
     this.violations = violations;
     this.error = error;
+    this.metrics = metrics;
   }
 
   public Repo getRepo() {
@@ -27,4 +38,26 @@ public class ValidationResult {
   public Path getError() {
     return error;
   }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public synchronized long getNormalisation(Category category) throws IOException {
+    if (metrics == null) {
+      metrics = Metrics.collect(repo);
+    }
+
+    return metrics.getNormalisation(category);
+  }
+
+  public synchronized Map<Category, Integer> getCategoryScores(List<CategoryConfig> configs)
+      throws IOException {
+    if (scores == null || scoreConfigs != configs) {
+      scores = Category.getCategoryScores(this, configs);
+      scoreConfigs = configs;
+    }
+
+    return scores;
+  }
 }
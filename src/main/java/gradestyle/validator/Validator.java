@@ -2,9 +2,22 @@ package gradestyle.validator;
 
 import gradestyle.Repo;
 import gradestyle.config.Config;
+import gradestyle.util.Fingerprint;
+import java.io.IOException;
+import java.util.List;
 
 public interface Validator {
   default void setup(Config config) throws ValidatorException {}
 
+  default void setup(Config config, List<Repo> repos) throws ValidatorException {
+    setup(config);
+  }
+
+  default void fingerprint(Fingerprint fingerprint) throws IOException {}
+
   Violations validate(Repo repo) throws ValidatorException;
+
+  default Violations validateCohort(Repo repo) throws ValidatorException {
+    return new Violations();
+  }
 }
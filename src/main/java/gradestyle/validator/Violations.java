@@ -1,32 +1,145 @@
 package gradestyle.validator;
 
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class Violations {
-  private List<Violation> violations;
+  private static final Type[] TYPES = Type.values();
 
-  public Violations() {
-    this(new ArrayList<>());
-  }
+  private List<Path> paths = new ArrayList<>();
+
+  private Map<Path, Integer> pathIndexes = new HashMap<>();
+
+  private Map<String, Integer> fileNameIndexes = new HashMap<>();
+
+  private short[] types = new short[16];
+
+  private int[] files = new int[16];
+
+  private int[] lines = new int[16];
+
+  private int[] endLines = new int[16];
+
+  private int size;
+
+  private int[] typeCounts = new int[TYPES.length];
+
+  private int[] categoryCounts = new int[Category.values().length];
+
+  public Violations() {}
 
   public Violations(List<Violation> violations) {
-    this.violations = violations;
+    for (Violation violation : violations) {
+      add(violation);
+    }
+  }
+
+  public void add(Violation violation) {
+    add(violation.getType(), violation.getPath(), violation.getLine(), violation.getEndLine());
+  }
+
+  public void add(Type type, Path file, int line) {
+    add(type, file, line, -1);
+  }
+
+  public void add(Type type, Path file, int line, int endLine) {
+    add(type, getPathIndex(file), line, endLine);
+  }
+
+  public void add(Type type, String file, int line) {
+    add(type, file, line, -1);
+  }
+
+  public void add(Type type, String file, int line, int endLine) {
+    Integer index = fileNameIndexes.get(file);
+
+    if (index == null) {
+      index = getPathIndex(Path.of(file));
+      fileNameIndexes.put(file, index);
+    }
+
+    add(type, index, line, endLine);
   }
 
-  private Violations(Stream<Violation> violations) {
-    this(violations.collect(Collectors.toList()));
+  public void addAll(Violations violations) {
+    for (int i = 0; i < violations.size; i++) {
+      add(
+          TYPES[violations.types[i]],
+          violations.paths.get(violations.files[i]),
+          violations.lines[i],
+          violations.endLines[i]);
+    }
+  }
+
+  private void add(Type type, int file, int line, int endLine) {
+    if (size == types.length) {
+      types = Arrays.copyOf(types, size * 2);
+      files = Arrays.copyOf(files, size * 2);
+      lines = Arrays.copyOf(lines, size * 2);
+      endLines = Arrays.copyOf(endLines, size * 2);
+    }
+
+    types[size] = (short) type.ordinal();
+    files[size] = file;
+    lines[size] = line;
+    endLines[size] = endLine;
+    size++;
+
+    typeCounts[type.ordinal()]++;
+    categoryCounts[type.getCategory().ordinal()]++;
+  }
+
+  private int getPathIndex(Path file) {
+    Integer index = pathIndexes.get(file);
+
+    if (index == null) {
+      index = paths.size();
+      paths.add(file);
+      pathIndexes.put(file, index);
+    }
+
+    return index;
   }
 
   public Violations filterByType(Type type) {
-    return new Violations(violations.stream().filter(v -> v.getType() == type));
+    Violations filtered = new Violations();
+
+    for (int i = 0; i < size; i++) {
+      if (types[i] == type.ordinal()) {
+        filtered.add(type, paths.get(files[i]), lines[i], endLines[i]);
+      }
+    }
+
+    return filtered;
   }
 
   public Violations filterByCategory(Category category) {
-    return new Violations(violations.stream().filter(v -> v.getType().getCategory() == category));
+    Violations filtered = new Violations();
+
+    for (int i = 0; i < size; i++) {
+      Type type = TYPES[types[i]];
+
+      if (type.getCategory() == category) {
+        filtered.add(type, paths.get(files[i]), lines[i], endLines[i]);
+      }
+    }
+
+    return filtered;
+  }
+
+  public int getCount(Type type) {
+    return typeCounts[type.ordinal()];
+  }
+
+  public int getCount(Category category) {
+    return categoryCounts[category.ordinal()];
   }
 
   public List<Violation> getCategoryExamples(Category category, int examples) {
@@ -38,7 +151,30 @@ public class Violations {
     return violations.subList(0, Math.min(violations.size(), examples));
   }
 
+  public int size() {
+    return size;
+  }
+
+  public Violation get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    return new Violation(
+        TYPES[types[index]], paths.get(files[index]), lines[index], endLines[index]);
+  }
+
   public List<Violation> getViolations() {
-    return violations;
+    return new AbstractList<>() {
+      @Override
+      public Violation get(int index) {
+        return Violations.this.get(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
   }
 }
@@ -7,55 +7,156 @@ import com.puppycrawl.tools.checkstyle.PropertiesExpander;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import gradestyle.Repo;
+import gradestyle.config.Config;
 import gradestyle.util.FileUtils;
-import gradestyle.validator.Validator;
+import gradestyle.util.Fingerprint;
+import gradestyle.validator.CohortValidator;
 import gradestyle.validator.ValidatorException;
 import gradestyle.validator.Violations;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.xml.sax.InputSource;
 
-public class Checkstyle implements Validator {
-  private static final URL config = Checkstyle.class.getResource("checkstyle.xml");
+public class Checkstyle implements CohortValidator {
+  private static final URL configFile = Checkstyle.class.getResource("checkstyle.xml");
+
+  private Configuration configuration;
+
+  private ThreadLocal<Checker> checkers = new ThreadLocal<>();
+
+  private Map<Path, Violations> prepared = new ConcurrentHashMap<>();
+
+  private int threads;
+
+  @Override
+  public void setup(Config config) throws ValidatorException {
+    threads = config.getValidationThreads();
+
+    try (InputStream in = configFile.openStream()) {
+      PropertiesExpander props = new PropertiesExpander(System.getProperties());
+
+      configuration =
+          ConfigurationLoader.loadConfiguration(
+              new InputSource(in), props, IgnoredModulesOptions.EXECUTE);
+    } catch (CheckstyleException | IOException e) {
+      throw new ValidatorException(e);
+    }
+  }
+
+  @Override
+  public void fingerprint(Fingerprint fingerprint) throws IOException {
+    fingerprint.add(configFile);
+    fingerprint.add(NamingCheck.class.getResource("NamingCheck.class"));
+
+    URL lexicon = Lexicon.class.getResource(Lexicon.RESOURCE);
+
+    if (lexicon != null) {
+      fingerprint.add(lexicon);
+    }
+  }
+
+  @Override
+  public List<Path> getFiles(Repo repo) throws IOException {
+    return FileUtils.getJavaSrcFiles(repo.getDir()).toList();
+  }
+
+  @Override
+  public void prepare(List<Path> files) throws ValidatorException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Callable<Object>> tasks = new ArrayList<>();
+
+    for (Path file : files) {
+      tasks.add(Executors.callable(() -> prepare(file)));
+    }
+
+    try {
+      executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ValidatorException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void prepare(Path file) {
+    Violations violations = new Violations();
+
+    try {
+      runCheckstyle(List.of(file), violations);
+      prepared.put(FileUtils.normalize(file), violations);
+    } catch (CheckstyleException | RuntimeException e) {
+      // Left unprepared, so validating the repo reports the failure.
+    }
+  }
 
   @Override
-  public Violations validate(Repo repo) throws ValidatorException {
+  public Violations validate(Repo repo, List<Path> files) throws ValidatorException {
     Violations violations = new Violations();
+    List<Path> unprepared = new ArrayList<>();
+
+    for (Path file : files) {
+      Violations fileViolations = prepared.remove(FileUtils.normalize(file));
+
+      if (fileViolations == null) {
+        unprepared.add(file);
+      } else {
+        violations.addAll(fileViolations);
+      }
+    }
+
+    if (unprepared.isEmpty()) {
+      return violations;
+    }
 
     try {
-      runCheckstyle(repo, violations);
+      runCheckstyle(unprepared, violations);
     } catch (CheckstyleException e) {
       String message = "Exception was thrown while processing ";
       int index = e.getMessage().indexOf(message);
       Path path = Path.of(e.getMessage().substring(index + message.length()));
       throw new ValidatorException(path);
-    } catch (IOException e) {
-      throw new ValidatorException(e);
     }
 
     return violations;
   }
 
-  private void runCheckstyle(Repo repo, Violations violations)
-      throws CheckstyleException, IOException {
-    InputSource source = new InputSource(config.openStream());
-    PropertiesExpander props = new PropertiesExpander(System.getProperties());
-    Configuration configuration =
-        ConfigurationLoader.loadConfiguration(source, props, IgnoredModulesOptions.EXECUTE);
+  private void runCheckstyle(List<Path> files, Violations violations) throws CheckstyleException {
+    Checker checker = getChecker();
+    Listener listener = new Listener(violations);
 
-    Checker checker = new Checker();
+    checker.addListener(listener);
 
-    checker.setModuleClassLoader(Checker.class.getClassLoader());
-    checker.configure(configuration);
-    checker.addListener(new Listener(violations));
-    checker.process(getJavaFiles(repo));
-    checker.destroy();
+    try {
+      checker.process(files.stream().map(Path::toFile).toList());
+    } catch (CheckstyleException | RuntimeException e) {
+      checkers.remove();
+      checker.destroy();
+      throw e;
+    } finally {
+      checker.removeListener(listener);
+    }
   }
 
-  private static List<File> getJavaFiles(Repo repo) throws IOException {
-    return FileUtils.getJavaSrcFiles(repo.getDir()).map(Path::toFile).toList();
+  private Checker getChecker() throws CheckstyleException {
+    Checker checker = checkers.get();
+
+    if (checker == null) {
+      checker = new Checker();
+      checker.setModuleClassLoader(Checker.class.getClassLoader());
+      checker.configure(configuration);
+      checkers.set(checker);
+    }
+
+    return checker;
   }
 }
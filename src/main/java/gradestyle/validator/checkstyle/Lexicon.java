@@ -0,0 +1,114 @@
+package gradestyle.validator.checkstyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import net.sf.extjwnl.data.IndexWordSet;
+import net.sf.extjwnl.data.POS;
+
+public class Lexicon {
+  public static final String RESOURCE = "lexicon.bin";
+
+  public static final int MAGIC = 0x47534c58;
+
+  public static final int MISSING = -1;
+
+  public static Lexicon load() {
+    try (InputStream in = Lexicon.class.getResourceAsStream(RESOURCE)) {
+      if (in == null) {
+        return null;
+      }
+
+      return new Lexicon(ByteBuffer.wrap(in.readAllBytes()));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // Only words the morphological processor cannot split into several tokens.
+  public static boolean isWord(String word) {
+    if (word.isEmpty()) {
+      return false;
+    }
+
+    return word.chars().allMatch(c -> c >= 'a' && c <= 'z' || c == '\'')
+        || word.chars().allMatch(c -> c >= '0' && c <= '9');
+  }
+
+  public static int getParts(IndexWordSet set) {
+    int parts = 0;
+
+    for (POS pos : set.getValidPOSSet()) {
+      parts |= getPart(pos);
+    }
+
+    return parts;
+  }
+
+  public static int getPart(POS pos) {
+    return 1 << pos.getId();
+  }
+
+  private ByteBuffer table;
+
+  private int size;
+
+  private int offsets;
+
+  private int parts;
+
+  private int words;
+
+  private Lexicon(ByteBuffer table) {
+    if (table.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Unknown lexicon format");
+    }
+
+    this.table = table;
+    this.size = table.getInt(4);
+    this.offsets = 8;
+    this.parts = offsets + (size + 1) * 4;
+    this.words = parts + size;
+  }
+
+  public int getParts(String word) {
+    if (!isWord(word)) {
+      return MISSING;
+    }
+
+    byte[] key = word.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = size - 1;
+
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compare(mid, key);
+
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return table.get(parts + mid);
+      }
+    }
+
+    return 0;
+  }
+
+  private int compare(int index, byte[] key) {
+    int begin = words + table.getInt(offsets + index * 4);
+    int end = words + table.getInt(offsets + (index + 1) * 4);
+
+    for (int i = 0; begin + i < end && i < key.length; i++) {
+      int cmp = Byte.compareUnsigned(table.get(begin + i), key[i]);
+
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+
+    return Integer.compare(end - begin, key.length);
+  }
+}
@@ -0,0 +1,120 @@
+package gradestyle.validator.checkstyle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.sf.extjwnl.JWNLException;
+import net.sf.extjwnl.data.Exc;
+import net.sf.extjwnl.data.IndexWord;
+import net.sf.extjwnl.data.POS;
+import net.sf.extjwnl.dictionary.Dictionary;
+
+public class LexiconCompiler {
+  // The suffix rules of the WordNet 3.1 resource dictionary's morphological processor.
+  private static final Map<POS, String> SUFFIXES =
+      Map.of(
+          POS.NOUN, "|s=|ses=s|xes=x|zes=z|ches=ch|shes=sh|men=man|ies=y|",
+          POS.VERB, "|s=|ies=y|es=e|es=|ed=e|ed=|ing=e|ing=|",
+          POS.ADJECTIVE, "|er=|est=|er=e|est=e|");
+
+  public static void main(String[] args) throws IOException, JWNLException {
+    if (args.length != 1) {
+      System.err.println("Usage: LexiconCompiler <output>");
+      System.exit(1);
+    }
+
+    Dictionary dictionary = Dictionary.getDefaultResourceInstance();
+    Set<String> words = new HashSet<>();
+
+    for (POS pos : POS.getAllPOS()) {
+      Set<String> lemmas = new HashSet<>();
+      Iterator<IndexWord> indexWords = dictionary.getIndexWordIterator(pos);
+      Iterator<Exc> exceptions = dictionary.getExceptionIterator(pos);
+
+      while (indexWords.hasNext()) {
+        lemmas.add(indexWords.next().getLemma());
+      }
+
+      while (exceptions.hasNext()) {
+        lemmas.add(exceptions.next().getLemma());
+      }
+
+      words.addAll(lemmas);
+
+      for (String rule : SUFFIXES.getOrDefault(pos, "").split("\\|")) {
+        if (rule.isEmpty()) {
+          continue;
+        }
+
+        String suffix = rule.substring(0, rule.indexOf('='));
+        String ending = rule.substring(rule.indexOf('=') + 1);
+
+        for (String lemma : lemmas) {
+          if (lemma.endsWith(ending)) {
+            words.add(lemma.substring(0, lemma.length() - ending.length()) + suffix);
+          }
+        }
+      }
+    }
+
+    List<byte[]> keys = new ArrayList<>();
+    List<Integer> parts = new ArrayList<>();
+
+    for (String word : words) {
+      if (!Lexicon.isWord(word)) {
+        continue;
+      }
+
+      int wordParts = Lexicon.getParts(dictionary.lookupAllIndexWords(word));
+
+      if (wordParts != 0) {
+        keys.add(word.getBytes(StandardCharsets.UTF_8));
+        parts.add(wordParts);
+      }
+    }
+
+    Integer[] order = new Integer[keys.size()];
+
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+
+    Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys.get(a), keys.get(b)));
+
+    Path output = Path.of(args[0]);
+    Files.createDirectories(output.toAbsolutePath().getParent());
+
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+      out.writeInt(Lexicon.MAGIC);
+      out.writeInt(order.length);
+
+      int offset = 0;
+
+      for (int i : order) {
+        out.writeInt(offset);
+        offset += keys.get(i).length;
+      }
+
+      out.writeInt(offset);
+
+      for (int i : order) {
+        out.writeByte(parts.get(i));
+      }
+
+      for (int i : order) {
+        out.write(keys.get(i));
+      }
+    }
+  }
+}
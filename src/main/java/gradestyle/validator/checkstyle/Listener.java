@@ -6,14 +6,12 @@ import static gradestyle.validator.checkstyle.NamingCheck.METHOD_VERB_KEY;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
 import gradestyle.validator.Type;
-import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
-import java.nio.file.Path;
 
 public class Listener implements AuditListener {
   private Violations violations;
 
-  private Path file;
+  private String file;
 
   public Listener(Violations violations) {
     this.violations = violations;
@@ -21,7 +19,7 @@ public class Listener implements AuditListener {
 
   @Override
   public void fileStarted(AuditEvent event) {
-    file = Path.of(event.getFileName());
+    file = event.getFileName();
   }
 
   @Override
@@ -29,7 +27,7 @@ public class Listener implements AuditListener {
     Type type = getViolationType(event.getViolation().getKey(), getModuleName(event));
 
     if (type != null) {
-      violations.getViolations().add(new Violation(type, file, event.getLine()));
+      violations.add(type, file, event.getLine());
     }
   }
 
@@ -5,6 +5,8 @@ import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.AnnotationUtil;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import net.sf.extjwnl.JWNLException;
 import net.sf.extjwnl.data.IndexWordSet;
@@ -16,14 +18,22 @@ public class NamingCheck extends AbstractCheck {
   public static final String CLASS_NOUN_KEY = "naming.class.noun";
   public static final String METHOD_VERB_KEY = "naming.method.verb";
 
-  private Dictionary dictionary;
+  private static final Lexicon lexicon = Lexicon.load();
+
+  private static final Map<String, Integer> parts = new ConcurrentHashMap<>();
+
+  private static Dictionary dictionary;
 
   private List<String> nouns = List.of();
 
   private List<String> verbs = List.of();
 
-  public NamingCheck() throws JWNLException {
-    this.dictionary = Dictionary.getDefaultResourceInstance();
+  private static synchronized Dictionary getDictionary() throws JWNLException {
+    if (dictionary == null) {
+      dictionary = Dictionary.getDefaultResourceInstance();
+    }
+
+    return dictionary;
   }
 
   public void setNouns(String[] nouns) {
@@ -159,14 +169,27 @@ public class NamingCheck extends AbstractCheck {
   }
 
   private boolean wordIsPOS(String word, POS pos) {
+    int wordParts = parts.computeIfAbsent(word.toLowerCase(), NamingCheck::lookupParts);
+
+    return wordParts == 0 || (wordParts & Lexicon.getPart(pos)) != 0;
+  }
+
+  private static int lookupParts(String word) {
+    int wordParts = lexicon == null ? Lexicon.MISSING : lexicon.getParts(word);
+
+    if (wordParts != Lexicon.MISSING) {
+      return wordParts;
+    }
+
     try {
-      IndexWordSet set = dictionary.lookupAllIndexWords(word);
+      Dictionary dictionary = getDictionary();
+      IndexWordSet set;
 
-      if (set.size() == 0) {
-        return true;
+      synchronized (dictionary) {
+        set = dictionary.lookupAllIndexWords(word);
       }
 
-      return set.isValidPOS(pos);
+      return Lexicon.getParts(set);
     } catch (JWNLException e) {
       throw new RuntimeException(e);
     }
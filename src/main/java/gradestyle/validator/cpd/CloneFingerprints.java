@@ -0,0 +1,235 @@
+package gradestyle.validator.cpd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.sourceforge.pmd.cpd.CPDConfiguration;
+import net.sourceforge.pmd.cpd.TokenEntry;
+import net.sourceforge.pmd.cpd.Tokens;
+import net.sourceforge.pmd.lang.ast.TokenMgrError;
+
+public class CloneFingerprints {
+  private static final long BASE = 1_000_003;
+
+  public static CloneFingerprints collect(
+      Path dir, List<Path> files, CPDConfiguration configuration, int window) throws IOException {
+    CloneFingerprints fingerprints = new CloneFingerprints();
+    int length = configuration.getMinimumTileSize();
+
+    for (Path file : files) {
+      List<TokenEntry> tokens;
+
+      try {
+        tokens = tokenize(configuration, file);
+      } catch (TokenMgrError e) {
+        continue;
+      }
+
+      fingerprints.add(dir.relativize(file).toString(), tokens, length, window);
+    }
+
+    return fingerprints;
+  }
+
+  public static List<TokenEntry> tokenize(CPDConfiguration configuration, Path file)
+      throws IOException {
+    Tokens tokens = new Tokens();
+    List<TokenEntry> entries = new ArrayList<>();
+
+    configuration.tokenizer().tokenize(configuration.sourceCodeFor(file.toFile()), tokens);
+
+    for (TokenEntry token : tokens.getTokens()) {
+      if (token.getIdentifier() != 0) {
+        entries.add(token);
+      }
+    }
+
+    return entries;
+  }
+
+  public static long[] hashWindows(List<TokenEntry> tokens, int length) {
+    Map<Integer, Long> imageHashes = new HashMap<>();
+    long[] tokenHashes = new long[tokens.size()];
+
+    for (int i = 0; i < tokens.size(); i++) {
+      TokenEntry token = tokens.get(i);
+
+      tokenHashes[i] =
+          imageHashes.computeIfAbsent(token.getIdentifier(), id -> hash(token.toString()));
+    }
+
+    long[] windowHashes = new long[Math.max(tokens.size() - length + 1, 0)];
+
+    if (windowHashes.length == 0) {
+      return windowHashes;
+    }
+
+    long power = 1;
+    long hash = 0;
+
+    for (int i = 0; i < length; i++) {
+      hash = hash * BASE + tokenHashes[i];
+      power = i == 0 ? 1 : power * BASE;
+    }
+
+    windowHashes[0] = hash;
+
+    for (int i = 1; i < windowHashes.length; i++) {
+      hash = (hash - tokenHashes[i - 1] * power) * BASE + tokenHashes[i + length - 1];
+      windowHashes[i] = hash;
+    }
+
+    return windowHashes;
+  }
+
+  public static CloneFingerprints read(Path file) throws IOException {
+    CloneFingerprints fingerprints = new CloneFingerprints();
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      int files = in.readInt();
+
+      for (int i = 0; i < files; i++) {
+        fingerprints.files.add(in.readUTF());
+      }
+
+      int size = in.readInt();
+
+      for (int i = 0; i < size; i++) {
+        fingerprints.add(in.readLong(), in.readInt(), in.readInt(), in.readInt());
+      }
+    }
+
+    return fingerprints;
+  }
+
+  private List<String> files = new ArrayList<>();
+
+  private long[] hashes = new long[16];
+
+  private int[] fileIndexes = new int[16];
+
+  private int[] beginLines = new int[16];
+
+  private int[] endLines = new int[16];
+
+  private int size;
+
+  private void add(String file, List<TokenEntry> entries, int length, int window) {
+    long[] windowHashes = hashWindows(entries, length);
+    int count = windowHashes.length;
+
+    if (count < 1) {
+      return;
+    }
+
+    files.add(file);
+
+    int fileIndex = files.size() - 1;
+    int selected = -1;
+
+    for (int start = 0; start + Math.min(window, count) <= count; start++) {
+      int min = start;
+
+      for (int i = start + 1; i < start + Math.min(window, count); i++) {
+        if (windowHashes[i] <= windowHashes[min]) {
+          min = i;
+        }
+      }
+
+      if (min != selected) {
+        selected = min;
+        add(
+            windowHashes[min],
+            fileIndex,
+            entries.get(min).getBeginLine(),
+            entries.get(min + length - 1).getBeginLine());
+      }
+    }
+  }
+
+  private void add(long hash, int file, int beginLine, int endLine) {
+    if (size == hashes.length) {
+      hashes = Arrays.copyOf(hashes, size * 2);
+      fileIndexes = Arrays.copyOf(fileIndexes, size * 2);
+      beginLines = Arrays.copyOf(beginLines, size * 2);
+      endLines = Arrays.copyOf(endLines, size * 2);
+    }
+
+    hashes[size] = hash;
+    fileIndexes[size] = file;
+    beginLines[size] = beginLine;
+    endLines[size] = endLine;
+    size++;
+  }
+
+  private static long hash(String image) {
+    long hash = 0xcbf29ce484222325L;
+
+    for (byte b : image.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+    }
+
+    return hash;
+  }
+
+  public void write(Path file) throws IOException {
+    Files.createDirectories(file.getParent());
+
+    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(files.size());
+
+      for (String name : files) {
+        out.writeUTF(name);
+      }
+
+      out.writeInt(size);
+
+      for (int i = 0; i < size; i++) {
+        out.writeLong(hashes[i]);
+        out.writeInt(fileIndexes[i]);
+        out.writeInt(beginLines[i]);
+        out.writeInt(endLines[i]);
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getHash(int index) {
+    return hashes[index];
+  }
+
+  public String getFile(int index) {
+    return files.get(fileIndexes[index]);
+  }
+
+  public int getBeginLine(int index) {
+    return beginLines[index];
+  }
+
+  public int getEndLine(int index) {
+    return endLines[index];
+  }
+}
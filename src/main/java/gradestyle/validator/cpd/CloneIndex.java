@@ -0,0 +1,168 @@
+package gradestyle.validator.cpd;
+
+import gradestyle.Repo;
+import gradestyle.config.Config;
+import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
+import gradestyle.validator.Type;
+import gradestyle.validator.ValidatorException;
+import gradestyle.validator.Violations;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CloneIndex {
+  private static final int WINDOW = 4;
+
+  private static final int SHARED = -1;
+
+  private static final int TEMPLATE = -2;
+
+  private Map<Long, Integer> owners = new HashMap<>();
+
+  private Map<Path, CloneFingerprints> repoFingerprints = new HashMap<>();
+
+  private Config config;
+
+  private int tokens;
+
+  private Path cache;
+
+  public CloneIndex(Config config, int tokens) {
+    this.config = config;
+    this.tokens = tokens;
+
+    if (config.getCache() != null) {
+      String fingerprint = new Fingerprint().add(tokens, WINDOW).get();
+
+      this.cache = config.getCache().resolve("clones").resolve(fingerprint);
+    }
+  }
+
+  public void build(List<Repo> repos) throws ValidatorException {
+    ExecutorService executor = Executors.newFixedThreadPool(config.getValidationThreads());
+
+    try {
+      Path template = config.getTemplateRepo();
+
+      if (Files.isDirectory(template.resolve(FileUtils.MAIN_DIR))) {
+        CloneFingerprints fingerprints = collect(template, null);
+
+        add(fingerprints, TEMPLATE);
+      }
+
+      List<Future<CloneFingerprints>> futures = new ArrayList<>();
+
+      for (Repo repo : repos) {
+        Callable<CloneFingerprints> task = () -> collect(repo.getDir(), repo.getCommit());
+
+        futures.add(executor.submit(task));
+      }
+
+      for (int i = 0; i < repos.size(); i++) {
+        CloneFingerprints fingerprints = futures.get(i).get();
+
+        add(fingerprints, i);
+        repoFingerprints.put(FileUtils.normalize(repos.get(i).getDir()), fingerprints);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ValidatorException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new ValidatorException(e);
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  public Violations getViolations(Repo repo) {
+    Violations violations = new Violations();
+    CloneFingerprints fingerprints = repoFingerprints.get(FileUtils.normalize(repo.getDir()));
+
+    if (fingerprints == null) {
+      return violations;
+    }
+
+    Map<String, TreeMap<Integer, Integer>> clones = new HashMap<>();
+
+    for (int i = 0; i < fingerprints.size(); i++) {
+      if (owners.get(fingerprints.getHash(i)) != SHARED) {
+        continue;
+      }
+
+      clones
+          .computeIfAbsent(fingerprints.getFile(i), file -> new TreeMap<>())
+          .merge(fingerprints.getBeginLine(i), fingerprints.getEndLine(i), Math::max);
+    }
+
+    for (Map.Entry<String, TreeMap<Integer, Integer>> file : clones.entrySet()) {
+      Path path = repo.getDir().resolve(file.getKey());
+      int begin = -1;
+      int end = -1;
+
+      for (Map.Entry<Integer, Integer> lines : file.getValue().entrySet()) {
+        if (begin != -1 && lines.getKey() > end) {
+          violations.add(Type.Clones_Cohort, path, begin, end);
+          begin = -1;
+        }
+
+        if (begin == -1) {
+          begin = lines.getKey();
+        }
+
+        end = Math.max(end, lines.getValue());
+      }
+
+      violations.add(Type.Clones_Cohort, path, begin, end);
+    }
+
+    return violations;
+  }
+
+  private CloneFingerprints collect(Path dir, String commit) throws IOException {
+    Path file = cache == null || commit == null ? null : cache.resolve(commit + ".bin");
+
+    if (file != null && !config.getCacheInvalidate() && Files.exists(file)) {
+      try {
+        return CloneFingerprints.read(file);
+      } catch (IOException e) {
+        // Recollected below.
+      }
+    }
+
+    List<Path> files = FileUtils.getJavaSrcFiles(dir).sorted().toList();
+    CloneFingerprints fingerprints =
+        CloneFingerprints.collect(dir, files, Cpd.createConfiguration(tokens), WINDOW);
+
+    if (file != null) {
+      fingerprints.write(file);
+    }
+
+    return fingerprints;
+  }
+
+  private void add(CloneFingerprints fingerprints, int owner) {
+    for (int i = 0; i < fingerprints.size(); i++) {
+      owners.merge(
+          fingerprints.getHash(i),
+          owner,
+          (current, added) -> current.equals(added) || current == TEMPLATE ? current : SHARED);
+    }
+  }
+}
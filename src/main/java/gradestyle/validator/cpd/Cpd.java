@@ -4,44 +4,91 @@ import gradestyle.Repo;
 import gradestyle.config.ClonesConfig;
 import gradestyle.config.Config;
 import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
 import gradestyle.validator.Type;
 import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
-import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import net.sourceforge.pmd.cpd.CPD;
 import net.sourceforge.pmd.cpd.CPDConfiguration;
 import net.sourceforge.pmd.cpd.JavaLanguage;
 import net.sourceforge.pmd.cpd.Mark;
 import net.sourceforge.pmd.cpd.Match;
+import net.sourceforge.pmd.cpd.TokenEntry;
 
 public class Cpd implements Validator {
+  public static CPDConfiguration createConfiguration(int tokens) {
+    CPDConfiguration configuration = new CPDConfiguration();
+
+    configuration.setLanguage(new JavaLanguage());
+    configuration.setMinimumTileSize(tokens);
+    configuration.setIgnoreAnnotations(true);
+    configuration.setIgnoreIdentifiers(true);
+    configuration.setIgnoreLiterals(true);
+
+    return configuration;
+  }
+
   private ClonesConfig config;
 
+  private CloneIndex index;
+
+  private TemplateClones template;
+
   public void setup(Config config) throws ValidatorException {
     this.config = config.getCategoryConfig(ClonesConfig.class);
+
+    if (this.config == null || !config.getTemplateIgnoreViolations()) {
+      return;
+    }
+
+    try {
+      template = new TemplateClones(config.getTemplateRepo(), this.config.getTokens());
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
   }
 
   @Override
-  public Violations validate(Repo repo) throws ValidatorException {
-    if (config == null) {
+  public void setup(Config config, List<Repo> repos) throws ValidatorException {
+    setup(config);
+
+    if (this.config != null && this.config.getCohort()) {
+      index = new CloneIndex(config, this.config.getTokens());
+      index.build(repos);
+    }
+  }
+
+  @Override
+  public void fingerprint(Fingerprint fingerprint) {
+    fingerprint.add(config == null ? null : config.getTokens());
+
+    if (template != null) {
+      fingerprint.add(template.getSignature());
+    }
+  }
+
+  @Override
+  public Violations validateCohort(Repo repo) {
+    if (index == null) {
       return new Violations();
     }
 
-    CPDConfiguration configuration = new CPDConfiguration();
+    return index.getViolations(repo);
+  }
 
-    configuration.setLanguage(new JavaLanguage());
-    configuration.setMinimumTileSize(config.getTokens());
-    configuration.setIgnoreAnnotations(true);
-    configuration.setIgnoreIdentifiers(true);
-    configuration.setIgnoreLiterals(true);
+  @Override
+  public Violations validate(Repo repo) throws ValidatorException {
+    if (config == null) {
+      return new Violations();
+    }
 
-    CPD cpd = new CPD(configuration);
+    CPD cpd = new CPD(createConfiguration(config.getTokens()));
 
     try {
       cpd.addRecursively(FileUtils.getMainDir(repo).toFile());
@@ -51,23 +98,28 @@ public class Cpd implements Validator {
 
     cpd.go();
 
-    List<Violation> violations = new ArrayList<>();
+    Violations violations = new Violations();
+    Map<String, List<TokenEntry>> files = new HashMap<>();
     Iterator<Match> matches = cpd.getMatches();
 
     while (matches.hasNext()) {
       Match match = matches.next();
 
+      try {
+        if (template != null && template.contains(match, files)) {
+          continue;
+        }
+      } catch (IOException e) {
+        throw new ValidatorException(e);
+      }
+
       Mark mark1 = match.getFirstMark();
       Mark mark2 = match.getSecondMark();
 
-      violations.add(
-          new Violation(
-              Type.Clones, Path.of(mark1.getFilename()), mark1.getBeginLine(), mark1.getEndLine()));
-      violations.add(
-          new Violation(
-              Type.Clones, Path.of(mark2.getFilename()), mark2.getBeginLine(), mark2.getEndLine()));
+      violations.add(Type.Clones, mark1.getFilename(), mark1.getBeginLine(), mark1.getEndLine());
+      violations.add(Type.Clones, mark2.getFilename(), mark2.getBeginLine(), mark2.getEndLine());
     }
 
-    return new Violations(violations);
+    return violations;
   }
 }
@@ -0,0 +1,117 @@
+package gradestyle.validator.cpd;
+
+import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.sourceforge.pmd.cpd.CPDConfiguration;
+import net.sourceforge.pmd.cpd.Mark;
+import net.sourceforge.pmd.cpd.Match;
+import net.sourceforge.pmd.cpd.TokenEntry;
+import net.sourceforge.pmd.lang.ast.TokenMgrError;
+
+public class TemplateClones {
+  private CPDConfiguration configuration;
+
+  private int tokens;
+
+  private Set<Long> windows = new HashSet<>();
+
+  private String signature;
+
+  public TemplateClones(Path template, int tokens) throws IOException {
+    this.configuration = Cpd.createConfiguration(tokens);
+    this.tokens = tokens;
+
+    Fingerprint fingerprint = new Fingerprint().add(tokens);
+
+    if (!Files.isDirectory(template.resolve(FileUtils.MAIN_DIR))) {
+      signature = fingerprint.get();
+      return;
+    }
+
+    for (Path file : FileUtils.getJavaSrcFiles(template).sorted().toList()) {
+      List<TokenEntry> entries;
+
+      fingerprint.add(template.relativize(file).toString()).add(file);
+
+      try {
+        entries = tokenize(file);
+      } catch (TokenMgrError e) {
+        continue;
+      }
+
+      for (long hash : CloneFingerprints.hashWindows(entries, tokens)) {
+        windows.add(hash);
+      }
+    }
+
+    signature = fingerprint.get();
+  }
+
+  public String getSignature() {
+    return signature;
+  }
+
+  public boolean contains(Match match, Map<String, List<TokenEntry>> files) throws IOException {
+    return contains(match.getFirstMark(), match.getTokenCount(), files)
+        && contains(match.getSecondMark(), match.getTokenCount(), files);
+  }
+
+  private boolean contains(Mark mark, int count, Map<String, List<TokenEntry>> files)
+      throws IOException {
+    if (windows.isEmpty()) {
+      return false;
+    }
+
+    List<TokenEntry> entries = files.get(mark.getFilename());
+
+    if (entries == null) {
+      try {
+        entries = tokenize(Path.of(mark.getFilename()));
+      } catch (TokenMgrError e) {
+        return false;
+      }
+
+      files.put(mark.getFilename(), entries);
+    }
+
+    int begin = indexOf(entries, mark.getToken());
+
+    if (begin == -1 || begin + count > entries.size()) {
+      return false;
+    }
+
+    long[] hashes = CloneFingerprints.hashWindows(entries.subList(begin, begin + count), tokens);
+
+    for (long hash : hashes) {
+      if (!windows.contains(hash)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private List<TokenEntry> tokenize(Path file) throws IOException {
+    return CloneFingerprints.tokenize(configuration, file);
+  }
+
+  private int indexOf(List<TokenEntry> entries, TokenEntry token) {
+    for (int i = 0; i < entries.size(); i++) {
+      TokenEntry entry = entries.get(i);
+
+      if (entry.getBeginLine() == token.getBeginLine()
+          && entry.getBeginColumn() == token.getBeginColumn()) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+}
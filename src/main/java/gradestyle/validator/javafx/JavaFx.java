@@ -11,12 +11,10 @@ import com.github.javaparser.ast.expr.AnnotationExpr;
 import gradestyle.Repo;
 import gradestyle.config.Config;
 import gradestyle.util.FileUtils;
-import gradestyle.util.JavaParser;
 import gradestyle.validator.Category;
 import gradestyle.validator.Type;
 import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
-import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -68,7 +66,7 @@ public class JavaFx implements Validator {
       ClassOrInterfaceDeclaration declaration = null;
 
       for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
-        ParseResult<CompilationUnit> result = JavaParser.get(repo).parse(file);
+        ParseResult<CompilationUnit> result = repo.getCompilationUnits().parse(file);
 
         if (!result.isSuccessful()) {
           throw new ValidatorException(file);
@@ -158,6 +156,6 @@ public class JavaFx implements Validator {
   }
 
   private void addViolation(Violations violations, Type type, Path file, Node node) {
-    violations.getViolations().add(new Violation(type, file, node.getRange().get().begin.line));
+    violations.add(type, file, node.getRange().get().begin.line);
   }
 }
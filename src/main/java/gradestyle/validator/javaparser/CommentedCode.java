@@ -0,0 +1,337 @@
+package gradestyle.validator.javaparser;
+
+import com.github.javaparser.JavaParser;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+public class CommentedCode {
+  public enum Context {
+    STATEMENT,
+    MEMBER,
+  }
+
+  private enum Scan {
+    PROSE,
+    SINGLE,
+    BATCH,
+  }
+
+  private static final Set<String> KEYWORDS =
+      Set.of(
+          "_",
+          "abstract",
+          "assert",
+          "boolean",
+          "break",
+          "byte",
+          "case",
+          "catch",
+          "char",
+          "class",
+          "const",
+          "continue",
+          "default",
+          "do",
+          "double",
+          "else",
+          "enum",
+          "extends",
+          "false",
+          "final",
+          "finally",
+          "float",
+          "for",
+          "goto",
+          "if",
+          "implements",
+          "import",
+          "instanceof",
+          "int",
+          "interface",
+          "long",
+          "native",
+          "new",
+          "non",
+          "null",
+          "package",
+          "permits",
+          "private",
+          "protected",
+          "public",
+          "record",
+          "return",
+          "sealed",
+          "short",
+          "static",
+          "strictfp",
+          "super",
+          "switch",
+          "synchronized",
+          "this",
+          "throw",
+          "throws",
+          "transient",
+          "true",
+          "try",
+          "var",
+          "void",
+          "volatile",
+          "when",
+          "while",
+          "yield");
+
+  private static final String OPERATORS = "(){}[];,.@=><!~?:+-*/&|^%";
+
+  private JavaParser parser;
+
+  private List<Context> contexts = new ArrayList<>();
+
+  private List<String> contents = new ArrayList<>();
+
+  public CommentedCode(JavaParser parser) {
+    this.parser = parser;
+  }
+
+  public void add(Context context, String content) {
+    contexts.add(context);
+    contents.add(content);
+  }
+
+  public boolean[] findCode() {
+    boolean[] code = new boolean[contents.size()];
+    List<Integer> batch = new ArrayList<>();
+
+    for (int i = 0; i < contents.size(); i++) {
+      switch (scan(contents.get(i))) {
+        case SINGLE:
+          code[i] = isCode(List.of(i));
+          break;
+        case BATCH:
+          batch.add(i);
+          break;
+        default:
+          break;
+      }
+    }
+
+    findCode(batch, code);
+
+    return code;
+  }
+
+  private void findCode(List<Integer> batch, boolean[] code) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    if (isCode(batch)) {
+      batch.forEach(i -> code[i] = true);
+      return;
+    }
+
+    if (batch.size() == 1) {
+      return;
+    }
+
+    int middle = batch.size() / 2;
+
+    findCode(batch.subList(0, middle), code);
+    findCode(batch.subList(middle, batch.size()), code);
+  }
+
+  private boolean isCode(List<Integer> batch) {
+    String code;
+
+    if (batch.size() == 1 && contexts.get(batch.get(0)) == Context.STATEMENT) {
+      code = "class X { " + wrap(batch.get(0)) + " }";
+    } else if (batch.size() == 1) {
+      code = wrap(batch.get(0));
+    } else {
+      StringBuilder sb = new StringBuilder("class X {\n");
+
+      for (int i : batch) {
+        sb.append(wrap(i)).append("\n");
+      }
+
+      code = sb.append("}").toString();
+    }
+
+    return parser.parse(code).isSuccessful();
+  }
+
+  private String wrap(int i) {
+    switch (contexts.get(i)) {
+      case STATEMENT:
+        return "void x() {" + contents.get(i) + "; }";
+      case MEMBER:
+        return "class X {" + contents.get(i) + " }";
+      default:
+        throw new IllegalArgumentException("Unknown context: " + contexts.get(i));
+    }
+  }
+
+  // Only rejects content that can never parse, so the batch result matches a parse of each.
+  private Scan scan(String content) {
+    if (content.contains("\\u")) {
+      return Scan.SINGLE;
+    }
+
+    Deque<Character> brackets = new ArrayDeque<>();
+    boolean nested = true;
+    int depth = 0;
+    int names = 0;
+    boolean literal = false;
+    int annotation = 0;
+    char last = ' ';
+    boolean doubled = false;
+    int i = 0;
+
+    while (i < content.length()) {
+      char c = content.charAt(i);
+      int start = i;
+
+      if (c == '\t' || c == '\f' || c == '\r' || c == '\n' || Character.isSpaceChar(c)) {
+        i++;
+        continue;
+      }
+
+      if (content.startsWith("//", i)) {
+        i = indexOfLineEnd(content, i);
+      } else if (content.startsWith("/*", i)) {
+        i = content.indexOf("*/", i + 2);
+        i = i == -1 ? -1 : i + 2;
+      } else if (Character.isJavaIdentifierStart(content.codePointAt(i))) {
+        while (i < content.length() && Character.isJavaIdentifierPart(content.codePointAt(i))) {
+          i += Character.charCount(content.codePointAt(i));
+        }
+
+        boolean keyword = KEYWORDS.contains(content.substring(start, i));
+
+        if (annotation == 1) {
+          names = 0;
+          annotation = 2;
+        } else if (keyword) {
+          names = 0;
+          annotation = 0;
+        } else if (literal) {
+          return Scan.PROSE;
+        } else {
+          names++;
+          annotation = 0;
+        }
+
+        literal = false;
+        last = 'x';
+      } else if ((c >= '0' && c <= '9') || c == '"' || c == '\'') {
+        if (names > 0 || literal) {
+          return Scan.PROSE;
+        }
+
+        i = skipLiteral(content, i);
+        names = 0;
+        literal = true;
+        annotation = 0;
+        last = 'x';
+      } else if (OPERATORS.indexOf(c) != -1) {
+        nested &= matchBracket(brackets, c);
+        depth += c == '(' || c == '[' || c == '{' ? 1 : c == ')' || c == ']' || c == '}' ? -1 : 0;
+        names = 0;
+        literal = false;
+        annotation = c == '@' || (c == '.' && annotation == 2) ? 1 : 0;
+        doubled = start > 0 && content.charAt(start - 1) == c;
+        last = c;
+        i++;
+      } else if (c == '\\' || Character.isIdentifierIgnorable(c)) {
+        return Scan.SINGLE;
+      } else {
+        return Scan.PROSE;
+      }
+
+      if (i == -1 || names == 3) {
+        return Scan.PROSE;
+      }
+    }
+
+    if (depth != 0 || isIncomplete(last, doubled)) {
+      return Scan.PROSE;
+    }
+
+    return nested ? Scan.BATCH : Scan.SINGLE;
+  }
+
+  private boolean isIncomplete(char last, boolean doubled) {
+    return ".,=!~?@^%&|</*".indexOf(last) != -1 || ((last == '+' || last == '-') && !doubled);
+  }
+
+  private int indexOfLineEnd(String content, int from) {
+    for (int i = from; i < content.length(); i++) {
+      if (content.charAt(i) == '\n' || content.charAt(i) == '\r') {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  private int skipLiteral(String content, int i) {
+    if (content.startsWith("\"\"\"", i)) {
+      return skipLiteral(content, i + 3, "\"\"\"", true);
+    }
+
+    if (content.charAt(i) == '"') {
+      return skipLiteral(content, i + 1, "\"", false);
+    }
+
+    if (content.charAt(i) == '\'') {
+      return skipLiteral(content, i + 1, "'", false);
+    }
+
+    int end = i;
+
+    while (end < content.length()
+        && (Character.isJavaIdentifierPart(content.charAt(end)) || content.charAt(end) == '.')) {
+      end++;
+    }
+
+    return content.substring(i, end).contains("..") ? -1 : end;
+  }
+
+  private int skipLiteral(String content, int i, String end, boolean multiline) {
+    while (i < content.length()) {
+      char c = content.charAt(i);
+
+      if (c == '\\') {
+        i += 2;
+      } else if (content.startsWith(end, i)) {
+        return i + end.length();
+      } else if (!multiline && (c == '\n' || c == '\r')) {
+        return -1;
+      } else {
+        i++;
+      }
+    }
+
+    return -1;
+  }
+
+  private boolean matchBracket(Deque<Character> brackets, char c) {
+    switch (c) {
+      case '(':
+      case '[':
+      case '{':
+        brackets.push(c);
+        return true;
+      case ')':
+        return !brackets.isEmpty() && brackets.pop() == '(';
+      case ']':
+        return !brackets.isEmpty() && brackets.pop() == '[';
+      case '}':
+        return !brackets.isEmpty() && brackets.pop() == '{';
+      default:
+        return true;
+    }
+  }
+}
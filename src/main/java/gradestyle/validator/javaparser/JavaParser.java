@@ -25,23 +25,24 @@ import gradestyle.config.CommentingConfig;
 import gradestyle.config.Config;
 import gradestyle.config.JavaDocConfig;
 import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
+import gradestyle.util.JavaParser.Profile;
+import gradestyle.util.Source;
+import gradestyle.validator.FileValidator;
 import gradestyle.validator.Type;
-import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
-import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
+import gradestyle.validator.javaparser.CommentedCode.Context;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 import org.apache.commons.text.similarity.LevenshteinDistance;
 
-public class JavaParser implements Validator {
+public class JavaParser implements FileValidator {
   private CommentingConfig commentingConfig;
 
   private JavaDocConfig javaDocConfig;
@@ -53,11 +54,31 @@ public class JavaParser implements Validator {
   }
 
   @Override
-  public Violations validate(Repo repo) throws ValidatorException {
+  public void fingerprint(Fingerprint fingerprint) {
+    if (commentingConfig != null) {
+      fingerprint.add(
+          commentingConfig.getMinLines(),
+          commentingConfig.getMinFrequency(),
+          commentingConfig.getMaxFrequency(),
+          commentingConfig.getLevenshteinDistance());
+    }
+
+    if (javaDocConfig != null) {
+      fingerprint.add(javaDocConfig.getMinWords());
+    }
+  }
+
+  @Override
+  public List<Path> getFiles(Repo repo) throws IOException {
+    return FileUtils.getJavaSrcFiles(repo.getDir()).toList();
+  }
+
+  @Override
+  public Violations validate(Repo repo, List<Path> files) throws ValidatorException {
     Violations violations = new Violations();
 
     try {
-      runJavaparser(repo, violations);
+      runJavaparser(repo, files, violations);
     } catch (IOException e) {
       throw new ValidatorException(e);
     }
@@ -65,10 +86,10 @@ public class JavaParser implements Validator {
     return violations;
   }
 
-  private void runJavaparser(Repo repo, Violations violations)
+  private void runJavaparser(Repo repo, List<Path> files, Violations violations)
       throws ValidatorException, IOException {
-    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
-      ParseResult<CompilationUnit> result = gradestyle.util.JavaParser.get(repo).parse(file);
+    for (Path file : files) {
+      ParseResult<CompilationUnit> result = repo.getCompilationUnits().parse(file);
 
       if (!result.isSuccessful()) {
         throw new ValidatorException(file);
@@ -80,7 +101,7 @@ public class JavaParser implements Validator {
       classOrderingViolations(file).visit(cu, violations);
 
       if (commentingConfig != null) {
-        IOException e = commentFrequencyViolations(file).visit(cu, violations);
+        IOException e = commentFrequencyViolations(repo, file).visit(cu, violations);
 
         if (e != null) {
           throw e;
@@ -97,7 +118,8 @@ public class JavaParser implements Validator {
     }
   }
 
-  private GenericVisitorAdapter<IOException, Violations> commentFrequencyViolations(Path file) {
+  private GenericVisitorAdapter<IOException, Violations> commentFrequencyViolations(
+      Repo repo, Path file) {
     return new GenericVisitorAdapter<IOException, Violations>() {
       @Override
       public IOException visit(MethodDeclaration decl, Violations violations) {
@@ -151,16 +173,19 @@ public class JavaParser implements Validator {
       }
 
       private long numLines(Node node) throws IOException {
-        try (Stream<String> lines = Files.lines(file)) {
-          return lines
-              .skip(getFirstLine(node) - 1)
-              .limit(getLastLine(node) - getFirstLine(node) + 1)
-              .map(String::trim)
-              .filter(line -> !line.isEmpty())
-              .filter(line -> !line.equals("{"))
-              .filter(line -> !line.equals("}"))
-              .count();
+        Source source = repo.getSources().get(file);
+        int last = Math.min(getLastLine(node), source.getLineCount());
+        long count = 0;
+
+        for (int i = getFirstLine(node); i <= last; i++) {
+          String line = source.getLine(i).trim();
+
+          if (!line.isEmpty() && !line.equals("{") && !line.equals("}")) {
+            count++;
+          }
         }
+
+        return count;
       }
     };
   }
@@ -414,6 +439,9 @@ public class JavaParser implements Validator {
   }
 
   private void commentViolations(Repo repo, Path file, CompilationUnit cu, Violations violations) {
+    CommentedCode commentedCode = new CommentedCode(repo.getJavaParser().get(Profile.SYNTAX));
+    List<Comment> comments = new ArrayList<>();
+
     for (Comment comment : getMergedComments(cu)) {
       Optional<Node> parent = comment.getParentNode();
       String contents = comment.getContent();
@@ -422,19 +450,22 @@ public class JavaParser implements Validator {
         continue;
       }
 
-      String code;
       if (parent.get() instanceof BlockStmt) {
-        code = "class X { void x() {" + contents + "; } }";
+        commentedCode.add(Context.STATEMENT, contents);
       } else if (parent.get() instanceof ClassOrInterfaceDeclaration) {
-        code = "class X {" + contents + " }";
+        commentedCode.add(Context.MEMBER, contents);
       } else {
         continue;
       }
 
-      ParseResult<CompilationUnit> result = gradestyle.util.JavaParser.get(repo).parse(code);
+      comments.add(comment);
+    }
+
+    boolean[] code = commentedCode.findCode();
 
-      if (result.isSuccessful()) {
-        addViolation(violations, Type.Useless_CommentedCode, file, getFirstLine(comment));
+    for (int i = 0; i < comments.size(); i++) {
+      if (code[i]) {
+        addViolation(violations, Type.Useless_CommentedCode, file, getFirstLine(comments.get(i)));
       }
     }
   }
@@ -490,6 +521,6 @@ public class JavaParser implements Validator {
   }
 
   private void addViolation(Violations violations, Type type, Path file, int line) {
-    violations.getViolations().add(new Violation(type, file, line));
+    violations.add(type, file, line);
   }
 }
@@ -2,72 +2,161 @@ package gradestyle.validator.pmd;
 
 import gradestyle.Repo;
 import gradestyle.util.FileUtils;
+import gradestyle.util.Fingerprint;
+import gradestyle.util.Source;
+import gradestyle.validator.CohortValidator;
 import gradestyle.validator.Type;
-import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
-import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.sourceforge.pmd.PMDConfiguration;
 import net.sourceforge.pmd.PmdAnalysis;
 import net.sourceforge.pmd.Report;
+import net.sourceforge.pmd.Report.ProcessingError;
 import net.sourceforge.pmd.Rule;
 import net.sourceforge.pmd.RuleViolation;
 import net.sourceforge.pmd.lang.LanguageRegistry;
 import net.sourceforge.pmd.lang.LanguageVersion;
 
-public class Pmd implements Validator {
+public class Pmd implements CohortValidator {
   private static final String config = "gradestyle/validator/pmd/pmd.xml";
 
+  private static final String javaVersion = "17";
+
+  private static final List<Class<?>> rules = List.of(StringConcatenation.class, EarlyReturn.class);
+
+  private Map<Path, List<RuleViolation>> prepared = new ConcurrentHashMap<>();
+
+  private Map<Path, Path> errors = new ConcurrentHashMap<>();
+
   @Override
-  public Violations validate(Repo repo) throws ValidatorException {
-    PMDConfiguration configuration = new PMDConfiguration();
-    LanguageVersion version = LanguageRegistry.findLanguageByTerseName("java").getVersion("17");
+  public void fingerprint(Fingerprint fingerprint) throws IOException {
+    fingerprint.add(Pmd.class.getClassLoader().getResource(config));
+    fingerprint.add(javaVersion);
 
-    configuration.setInputPaths(FileUtils.getMainDir(repo).toString());
-    configuration.addRuleSet(config);
-    configuration.setDefaultLanguageVersion(version);
-    configuration.setIgnoreIncrementalAnalysis(true);
+    for (Class<?> rule : rules) {
+      fingerprint.add(rule.getResource(rule.getSimpleName() + ".class"));
+    }
+  }
+
+  @Override
+  public List<Path> getFiles(Repo repo) throws IOException {
+    return FileUtils.getJavaSrcFiles(repo.getDir()).toList();
+  }
+
+  @Override
+  public void prepare(List<Path> files) {
+    PMDConfiguration configuration = createConfiguration();
+
+    configuration.setThreads(Runtime.getRuntime().availableProcessors());
+
+    Report report = analyse(configuration, files);
+
+    for (Path file : files) {
+      prepared.put(FileUtils.normalize(file), new ArrayList<>());
+    }
+
+    for (RuleViolation violation : report.getViolations()) {
+      prepared.get(FileUtils.normalize(Path.of(violation.getFilename()))).add(violation);
+    }
+
+    for (ProcessingError error : report.getProcessingErrors()) {
+      Path file = Path.of(error.getFile());
+
+      errors.putIfAbsent(FileUtils.normalize(file), file);
+    }
+  }
 
-    Report report = PmdAnalysis.create(configuration).performAnalysisAndCollectReport();
+  @Override
+  public Violations validate(Repo repo, List<Path> files) throws ValidatorException {
+    List<RuleViolation> ruleViolations = new ArrayList<>();
+    List<Path> unprepared = new ArrayList<>();
+    Path error = null;
+
+    for (Path file : files) {
+      Path key = FileUtils.normalize(file);
+      List<RuleViolation> fileViolations = prepared.remove(key);
+      Path fileError = errors.remove(key);
+
+      if (fileViolations == null) {
+        unprepared.add(file);
+      } else {
+        ruleViolations.addAll(fileViolations);
+      }
+
+      if (error == null) {
+        error = fileError;
+      }
+    }
 
-    if (!report.getProcessingErrors().isEmpty()) {
-      throw new ValidatorException(Path.of(report.getProcessingErrors().get(0).getFile()));
+    if (error != null) {
+      throw new ValidatorException(error);
+    }
+
+    if (!unprepared.isEmpty()) {
+      Report report = analyse(createConfiguration(), unprepared);
+
+      if (!report.getProcessingErrors().isEmpty()) {
+        throw new ValidatorException(Path.of(report.getProcessingErrors().get(0).getFile()));
+      }
+
+      ruleViolations.addAll(report.getViolations());
     }
 
     try {
-      return getViolations(report.getViolations());
+      return getViolations(repo, ruleViolations);
     } catch (IOException e) {
       throw new ValidatorException(e);
     }
   }
 
-  private Violations getViolations(List<RuleViolation> ruleViolations) throws IOException {
+  private PMDConfiguration createConfiguration() {
+    PMDConfiguration configuration = new PMDConfiguration();
+    LanguageVersion version =
+        LanguageRegistry.findLanguageByTerseName("java").getVersion(javaVersion);
+
+    configuration.addRuleSet(config);
+    configuration.setDefaultLanguageVersion(version);
+    configuration.setIgnoreIncrementalAnalysis(true);
+
+    return configuration;
+  }
+
+  private Report analyse(PMDConfiguration configuration, List<Path> files) {
+    try (PmdAnalysis pmd = PmdAnalysis.create(configuration)) {
+      for (Path file : files) {
+        pmd.files().addFile(file);
+      }
+
+      return pmd.performAnalysisAndCollectReport();
+    }
+  }
+
+  private Violations getViolations(Repo repo, List<RuleViolation> ruleViolations)
+      throws IOException {
     Violations violations = new Violations();
 
     for (RuleViolation violation : ruleViolations) {
       Type type = getType(violation.getRule());
-      Path file = Path.of(violation.getFilename());
       int start = violation.getBeginLine();
       int end = violation.getEndLine();
 
       // PMD violates a useless import on all wildcard imports unless compiled classes are provided.
       if (type == Type.Useless_Import) {
-        String line =
-            Files.lines(Path.of(violation.getFilename()))
-                .skip(violation.getBeginLine() - 1)
-                .findFirst()
-                .get();
+        Source source = repo.getSources().get(Path.of(violation.getFilename()));
+        String line = source.getLine(violation.getBeginLine());
 
         if (line.contains("*")) {
           continue;
         }
       }
 
-      violations.getViolations().add(new Violation(type, file, start, end));
+      violations.add(type, violation.getFilename(), start, end);
     }
 
     return violations;